@@ -0,0 +1,29 @@
+package ru.practicum.shareit.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@Slf4j
+@Validated
+@RequiredArgsConstructor
+@RequestMapping("/batch")
+public class BatchController {
+    private final BatchService batchService;
+
+    @PostMapping
+    public CompletableFuture<List<BatchResult>> executeBatch(HttpServletRequest request,
+                                                             @RequestHeader("X-Sharer-User-Id") long userId,
+                                                             @NotEmpty @RequestBody List<@Valid BatchRequest> requests) {
+        log.info("Получен POST-запрос /batch: userId={}, requests: {}.", userId, requests);
+        return batchService.executeBatch(request, userId, requests);
+    }
+}
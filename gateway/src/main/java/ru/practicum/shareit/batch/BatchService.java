@@ -0,0 +1,185 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+import org.springframework.web.util.ServletRequestPathUtils;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.exception.WrongParameterException;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BatchService {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private final ObjectMapper mapper;
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final HandlerMethodArgumentResolverComposite argumentResolvers = new HandlerMethodArgumentResolverComposite();
+    private final WebDataBinderFactory binderFactory;
+    private final ErrorHandler errorHandler;
+    private final ExceptionHandlerMethodResolver errorHandlerMethods =
+            new ExceptionHandlerMethodResolver(ErrorHandler.class);
+    private final RateLimiter rateLimiter;
+    private final int maxRequests;
+
+    public BatchService(ObjectMapper mapper,
+                        @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                        RequestMappingHandlerAdapter handlerAdapter,
+                        ErrorHandler errorHandler,
+                        RateLimiter rateLimiter,
+                        @Value("${shareit-gateway.batch.max-requests:20}") int maxRequests) {
+        this.mapper = mapper;
+        this.handlerMapping = handlerMapping;
+        this.errorHandler = errorHandler;
+        this.rateLimiter = rateLimiter;
+        this.maxRequests = maxRequests;
+        argumentResolvers.addResolvers(handlerAdapter.getArgumentResolvers());
+        binderFactory = new ServletRequestDataBinderFactory(null, handlerAdapter.getWebBindingInitializer());
+    }
+
+    public CompletableFuture<List<BatchResult>> executeBatch(HttpServletRequest batchRequest, long userId,
+                                                             List<BatchRequest> requests) {
+        if (requests.size() > maxRequests) {
+            throw new WrongParameterException(String.format(
+                    "Пакет содержит %d запросов, допустимо не более %d.", requests.size(), maxRequests));
+        }
+        List<CompletableFuture<BatchResult>> results = requests.stream()
+                .map(request -> execute(batchRequest, userId, request))
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> results.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+    }
+
+    private CompletableFuture<BatchResult> execute(HttpServletRequest batchRequest, long userId,
+                                                   BatchRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return CompletableFuture.completedFuture(toError(HttpStatus.BAD_REQUEST,
+                    "В пакете допускаются только GET-запросы: " + request.getMethod()));
+        }
+        BatchServletRequest subRequest;
+        try {
+            URI uri = URI.create(request.getPath());
+            if (uri.isAbsolute() || uri.getRawAuthority() != null || uri.getRawFragment() != null
+                    || uri.getRawPath() == null || !uri.getRawPath().startsWith("/")) {
+                throw new IllegalArgumentException(request.getPath());
+            }
+            subRequest = new BatchServletRequest(batchRequest, uri, USER_HEADER, userId);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(toError(HttpStatus.BAD_REQUEST,
+                    "Некорректный путь в пакетном запросе: " + request.getPath()));
+        }
+        long waitNanos = rateLimiter.tryAcquire(subRequest.getServletPath(), "user-" + userId);
+        if (waitNanos > 0) {
+            String message = RateLimiter.getRejectionMessage(waitNanos);
+            log.info("Возникла ошибка 429 в пакетном запросе {} для user-{}: {}", request.getPath(), userId, message);
+            return CompletableFuture.completedFuture(toError(HttpStatus.TOO_MANY_REQUESTS, message));
+        }
+        try {
+            return dispatch(subRequest)
+                    .thenApply(this::toResult)
+                    .exceptionally(this::toError);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(toError(e));
+        }
+    }
+
+    private CompletableFuture<?> dispatch(BatchServletRequest request) throws Exception {
+        ServletRequestPathUtils.parseAndCache(request);
+        HandlerExecutionChain chain = handlerMapping.getHandler(request);
+        if (chain == null || !(chain.getHandler() instanceof HandlerMethod)) {
+            return CompletableFuture.completedFuture(toError(HttpStatus.NOT_FOUND,
+                    "Ресурс не найден: " + request.getServletPath()));
+        }
+        InvocableHandlerMethod handler = new InvocableHandlerMethod((HandlerMethod) chain.getHandler());
+        handler.setHandlerMethodArgumentResolvers(argumentResolvers);
+        handler.setDataBinderFactory(binderFactory);
+        Object result = handler.invokeForRequest(new ServletWebRequest(request), new ModelAndViewContainer());
+        return result instanceof CompletableFuture ? (CompletableFuture<?>) result
+                : CompletableFuture.completedFuture(result);
+    }
+
+    private BatchResult toResult(Object result) {
+        if (result instanceof BatchResult) {
+            return (BatchResult) result;
+        }
+        if (!(result instanceof ResponseEntity)) {
+            return new BatchResult(HttpStatus.OK.value(), null, writeJson(result));
+        }
+        ResponseEntity<?> response = (ResponseEntity<?>) result;
+        String body = response.getBody() instanceof byte[]
+                ? toJson(response.getHeaders().getContentType(), (byte[]) response.getBody())
+                : response.getBody() != null ? writeJson(response.getBody()) : null;
+        return new BatchResult(response.getStatusCodeValue(), response.getHeaders().getFirst(NEXT_CURSOR_HEADER),
+                body);
+    }
+
+    private BatchResult toError(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        Method method = errorHandlerMethods.resolveMethodByThrowable(cause);
+        if (method == null) {
+            return toError(HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage());
+        }
+        Object errorResponse = ReflectionUtils.invokeMethod(method, errorHandler, cause);
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(method, ResponseStatus.class);
+        return new BatchResult(status != null ? status.code().value() : HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                null, writeJson(errorResponse));
+    }
+
+    private BatchResult toError(HttpStatus status, String message) {
+        return new BatchResult(status.value(), null, writeJson(new ErrorResponse(message)));
+    }
+
+    private String toJson(MediaType contentType, byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        String text = new String(body, StandardCharsets.UTF_8);
+        if (contentType != null && (contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                || contentType.getSubtype().endsWith("+json"))) {
+            return text;
+        }
+        return writeJson(text);
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,30 +1,36 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public BookingClient(ServerExchangeFactory exchangeFactory, ResponseCache cache,
+                         RequestCoalescer coalescer) {
+        super(exchangeFactory.create(API_PREFIX), cache, coalescer, "bookings", "items");
     }
 
-    public ResponseEntity<Object> getBookingsByUserId(long userId, BookingState state, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByUserId(long userId, BookingState state,
+                                                                         String after, int from, int size) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "after", after,
+                    "size", size
+            );
+            return get("?state={state}&after={after}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -33,7 +39,17 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsByItemOwnerId(long userId, BookingState state, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByItemOwnerId(long userId, BookingState state,
+                                                                              String after, Integer from,
+                                                                              Integer size) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "after", after,
+                    "size", size
+            );
+            return get("/owner?state={state}&after={after}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -42,15 +58,15 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingById(long bookingId, long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(long bookingId, long userId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> createBooking(long userId, BookingDto bookingDto) {
+    public CompletableFuture<ResponseEntity<Object>> createBooking(long userId, BookingDto bookingDto) {
         return post("", userId, bookingDto);
     }
 
-    public ResponseEntity<Object> approveBooking(long bookingId, long userId, Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> approveBooking(long bookingId, long userId, Boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
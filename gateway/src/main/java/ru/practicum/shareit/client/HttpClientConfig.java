@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+    private static final String MODE = "shareit-gateway.mode";
+
+    @Bean
+    @ConditionalOnProperty(name = MODE, havingValue = "blocking", matchIfMissing = true)
+    public ClientHttpRequestFactory shareitServerRequestFactory(HttpClientProperties properties,
+                                                                MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity(1000);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server")
+                .bindTo(meterRegistry);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getLeaseTimeout().toMillis())
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = MODE, havingValue = "blocking", matchIfMissing = true)
+    public ServerExchangeFactory blockingServerExchangeFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                               RestTemplateBuilder builder,
+                                                               ClientHttpRequestFactory requestFactory,
+                                                               ServerCallGuard guard) {
+        return apiPrefix -> guard.protect(getFamily(apiPrefix), new RestTemplateExchange(builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .build()));
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = MODE, havingValue = "non-blocking")
+    public ConnectionProvider shareitServerConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getLeaseTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = MODE, havingValue = "non-blocking")
+    public ServerExchangeFactory nonBlockingServerExchangeFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                                  HttpClientProperties properties,
+                                                                  ConnectionProvider connectionProvider,
+                                                                  WebClient.Builder builder,
+                                                                  ServerCallGuard guard) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+        int maxResponseSize = Math.toIntExact(properties.getMaxResponseSize().toBytes());
+        return apiPrefix -> guard.protect(getFamily(apiPrefix), new WebClientExchange(builder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .clientConnector(connector)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxResponseSize))
+                .build()));
+    }
+
+    private static String getFamily(String apiPrefix) {
+        return apiPrefix.substring(1);
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long maxKeepAlive) {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? Math.min(keepAlive, maxKeepAlive) : maxKeepAlive;
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+    private final boolean enabled;
+    private final ConcurrentMap<RequestKey, CompletableFuture<ResponseEntity<Object>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public RequestCoalescer(@Value("${shareit-gateway.coalescing.enabled:true}") boolean enabled,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        coalesced = Counter.builder("gateway.requests.coalesced")
+                .description("GET requests served by an identical in-flight upstream call")
+                .register(meterRegistry);
+    }
+
+    CompletableFuture<ResponseEntity<Object>> execute(RequestKey key,
+                                                      Supplier<CompletableFuture<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, response);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        try {
+            loader.get().whenComplete((result, e) -> {
+                inFlight.remove(key, response);
+                if (e != null) {
+                    response.completeExceptionally(e);
+                } else {
+                    response.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, response);
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
+    public void invalidate(Collection<String> families) {
+        inFlight.keySet().removeIf(key -> families.contains(key.getFamily()));
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+class RequestKey {
+    private final String family;
+    private final String path;
+    private final Long userId;
+    private final Map<String, Object> parameters;
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.resilience")
+public class ResilienceProperties {
+    private boolean enabled = true;
+    private CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+    private BulkheadProperties bulkhead = new BulkheadProperties();
+
+    @Data
+    public static class CircuitBreakerProperties {
+        private int slidingWindowSize = 50;
+        private int minimumCalls = 20;
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+        private int halfOpenCalls = 5;
+    }
+
+    @Data
+    public static class BulkheadProperties {
+        private int maxConcurrentCalls = 100;
+        private Map<String, Integer> families = new HashMap<>();
+    }
+}
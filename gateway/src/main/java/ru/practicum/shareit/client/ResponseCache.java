@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class ResponseCache {
+    private final boolean enabled;
+    private final Set<String> families;
+    private final Cache<RequestKey, ResponseEntity<Object>> responses;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCache(@Value("${shareit-gateway.cache.enabled:true}") boolean enabled,
+                         @Value("${shareit-gateway.cache.families:}") Set<String> families,
+                         @Value("${shareit-gateway.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${shareit-gateway.cache.expire-after-write:30s}") Duration expireAfterWrite,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.families = Set.copyOf(families);
+        responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gatewayResponses");
+    }
+
+    CompletableFuture<ResponseEntity<Object>> get(RequestKey key,
+                                                  Supplier<CompletableFuture<ResponseEntity<Object>>> loader) {
+        String family = key.getFamily();
+        if (!enabled || family == null || !families.contains(family)) {
+            return loader.get();
+        }
+        ResponseEntity<Object> response = responses.getIfPresent(key);
+        if (response != null) {
+            return CompletableFuture.completedFuture(response);
+        }
+        long generation = generation(family).get();
+        return loader.get().thenApply(loaded -> {
+            if (loaded.getStatusCode().is2xxSuccessful() && generation(family).get() == generation) {
+                responses.put(key, withoutDate(loaded));
+            }
+            return loaded;
+        });
+    }
+
+    public void invalidate(Collection<String> families) {
+        families.forEach(family -> generation(family).incrementAndGet());
+        responses.asMap().keySet().removeIf(key -> families.contains(key.getFamily()));
+    }
+
+    private ResponseEntity<Object> withoutDate(ResponseEntity<Object> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.remove(HttpHeaders.DATE);
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private AtomicLong generation(String family) {
+        return generations.computeIfAbsent(family, f -> new AtomicLong());
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@Component
+@Slf4j
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ServerCallGuard {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+");
+    private final ResilienceProperties properties;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+
+    public ServerCallGuard(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        ResilienceProperties.CircuitBreakerProperties breaker = properties.getCircuitBreaker();
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumCalls())
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(breaker.getSlowCallDuration())
+                .waitDurationInOpenState(breaker.getWaitInOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .permittedNumberOfCallsInHalfOpenState(breaker.getHalfOpenCalls())
+                .build());
+        bulkheads = BulkheadRegistry.ofDefaults();
+        circuitBreakers.getEventPublisher().onEntryAdded(added -> added.getAddedEntry().getEventPublisher()
+                .onStateTransition(event -> {
+                    log.info("Состояние circuit breaker {} изменилось: {}", event.getCircuitBreakerName(),
+                            event.getStateTransition());
+                    meterRegistry.counter("gateway.circuit-breaker.transitions",
+                            "name", event.getCircuitBreakerName(),
+                            "from", event.getStateTransition().getFromState().name(),
+                            "to", event.getStateTransition().getToState().name()).increment();
+                }));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    public ServerExchange protect(String family, ServerExchange exchange) {
+        if (!properties.isEnabled()) {
+            return exchange;
+        }
+        int maxConcurrentCalls = properties.getBulkhead().getFamilies()
+                .getOrDefault(family, properties.getBulkhead().getMaxConcurrentCalls());
+        Bulkhead bulkhead = bulkheads.bulkhead(family, BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        return (method, path, headers, parameters, body) -> {
+            CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(getRoute(family, path));
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return CompletableFuture.failedFuture(new ServiceUnavailableException(String.format(
+                        "Сервер временно недоступен для %s, повторите запрос позже.", circuitBreaker.getName())));
+            }
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                return CompletableFuture.failedFuture(new ServiceUnavailableException(String.format(
+                        "Слишком много одновременных запросов к %s, повторите запрос позже.", family)));
+            }
+            long start = System.nanoTime();
+            CompletableFuture<ResponseEntity<Object>> response;
+            try {
+                response = exchange.exchange(method, path, headers, parameters, body);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            return response.whenComplete((result, e) -> {
+                bulkhead.onComplete();
+                long duration = System.nanoTime() - start;
+                if (e != null) {
+                    circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, e);
+                } else if (result.getStatusCode().is5xxServerError()) {
+                    circuitBreaker.onError(duration, TimeUnit.NANOSECONDS,
+                            new HttpServerErrorException(result.getStatusCode()));
+                } else {
+                    circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                }
+            });
+        };
+    }
+
+    private static String getRoute(String family, String path) {
+        int query = path.indexOf('?');
+        String route = query >= 0 ? path.substring(0, query) : path;
+        return family + ID_SEGMENT.matcher(route).replaceAll("/{id}");
+    }
+}
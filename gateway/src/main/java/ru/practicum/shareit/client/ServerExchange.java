@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface ServerExchange {
+    List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING);
+
+    CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                       @Nullable Map<String, Object> parameters,
+                                                       @Nullable Object body);
+
+    static ResponseEntity<Object> toGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                    @Nullable byte[] body) {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        if (headers != null) {
+            responseHeaders.putAll(headers);
+            HOP_BY_HOP_HEADERS.forEach(responseHeaders::remove);
+        }
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(responseHeaders);
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
+        }
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class WebClientExchange implements ServerExchange {
+    private final WebClient webClient;
+
+    public WebClientExchange(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> ServerExchange.toGatewayResponse(response.getStatusCode(), response.getHeaders(),
+                        response.getBody()))
+                .toFuture();
+    }
+}
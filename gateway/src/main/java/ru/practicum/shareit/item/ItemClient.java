@@ -1,30 +1,28 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemClient(ServerExchangeFactory exchangeFactory, ResponseCache cache,
+                      RequestCoalescer coalescer) {
+        super(exchangeFactory.create(API_PREFIX), cache, coalescer, "items", "requests");
     }
 
-    public ResponseEntity<Object> getItemsByUserId(long userId, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsByUserId(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -32,23 +30,40 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemById(long itemId, long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemById(long itemId, long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(long itemId, long userId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItems(long userId, List<ItemDto> itemDtos) {
+        return post("/bulk", userId, itemDtos);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> updateItem(long itemId, long userId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> searchItemsByText(String text, int from, int size) {
-        return get("/search?text=" + text + "&from=" + from + "&size=" + size);
+    public CompletableFuture<ResponseEntity<Object>> searchItemsByText(String text, Long after, int from, int size) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "after", after,
+                    "size", size
+            );
+            return get("/search?text={text}&after={after}&size={size}", null, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> createComment(long itemId, long userId, CommentDto commentDto) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(long itemId, long userId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 }
@@ -7,8 +7,12 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @Slf4j
@@ -19,44 +23,52 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                   @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                   @Positive @RequestParam(defaultValue = "20") int size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                      @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                      @Positive @RequestParam(defaultValue = "20") int size) {
         log.info("Получен GET-запрос /items: userId={}, from={}, size={}.", userId, from, size);
         return itemClient.getItemsByUserId(userId, from, size);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemById(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Получен GET-запрос /items: itemId={}, userId={}.", itemId, userId);
         return itemClient.getItemById(itemId, userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @Valid @RequestBody ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                @Valid @RequestBody ItemDto itemDto) {
         log.info("Получен POST-запрос /items: userId={}, item: {}.", userId, itemDto);
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping("/bulk")
+    public CompletableFuture<ResponseEntity<Object>> createItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                 @NotEmpty @Size(max = 10000) @RequestBody List<ItemDto> itemDtos) {
+        log.info("Получен POST-запрос /items/bulk: userId={}, items: {}.", userId, itemDtos.size());
+        return itemClient.createItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId,
-                                             @RequestBody ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId,
+                                                                @RequestBody ItemDto itemDto) {
         log.info("Получен PATCH-запрос /items: itemId={}, userId={}, item: {}.", itemId, userId, itemDto);
         return itemClient.updateItem(itemId, userId, itemDto);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItemsByText(@RequestParam String text,
-                                                    @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                    @Positive @RequestParam(defaultValue = "20") int size) {
-        log.info("Получен GET-запрос /items: text: {}, from={}, size={}.", text, from, size);
-        return itemClient.searchItemsByText(text, from, size);
+    public CompletableFuture<ResponseEntity<Object>> searchItemsByText(@RequestParam String text,
+                                                                       @PositiveOrZero @RequestParam(required = false) Long after,
+                                                                       @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                       @Positive @RequestParam(defaultValue = "20") int size) {
+        log.info("Получен GET-запрос /items: text: {}, after={}, from={}, size={}.", text, after, from, size);
+        return itemClient.searchItemsByText(text, after, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId,
-                                                @Valid @RequestBody CommentDto commentDto) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId,
+                                                                   @Valid @RequestBody CommentDto commentDto) {
         log.info("Получен POST-запрос /items: itemId={}, userId={}, comment: {}.", itemId, userId, commentDto);
         return itemClient.createComment(itemId, userId, commentDto);
     }
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper mapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper mapper) {
+        this.rateLimiter = rateLimiter;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled() || getPath(request).startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = getClient(request);
+        long waitNanos = rateLimiter.tryAcquire(getPath(request), client);
+        if (waitNanos > 0) {
+            reject(response, client, waitNanos);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String getPath(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private String getClient(HttpServletRequest request) {
+        String userId = request.getHeader(USER_HEADER);
+        return userId != null ? "user-" + userId : "ip-" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, String client, long waitNanos) throws IOException {
+        String message = RateLimiter.getRejectionMessage(waitNanos);
+        log.info("Возникла ошибка 429 для {}: {}", client, message);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.toRetryAfterSeconds(waitNanos)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        mapper.writeValue(response.getOutputStream(), new ErrorResponse(message));
+    }
+}
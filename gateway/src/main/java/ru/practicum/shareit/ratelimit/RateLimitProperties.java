@@ -0,0 +1,37 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Limit global = new Limit(2000, 1000);
+    private Limit user = new Limit(100, 50);
+    private Map<String, Route> routes = new LinkedHashMap<>();
+    private long maximumUsers = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private long capacity;
+        private double refillPerSecond;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Route {
+        private String path;
+        private long capacity;
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+    private static final String DEFAULT_ROUTE = "default";
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final TokenBucket globalBucket;
+    private final Cache<String, TokenBucket> userBuckets;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        globalBucket = new TokenBucket(properties.getGlobal().getCapacity(),
+                properties.getGlobal().getRefillPerSecond());
+        userBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumUsers())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public long tryAcquire(String path, String client) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        String route = getRoute(path);
+        TokenBucket userBucket = userBuckets.get(route + ":" + client, key -> newUserBucket(route));
+        long waitNanos = userBucket.tryConsume(now);
+        String scope = "user";
+        if (waitNanos == 0) {
+            waitNanos = globalBucket.tryConsume(now);
+            scope = "global";
+            if (waitNanos > 0) {
+                userBucket.refund();
+            }
+        }
+        if (waitNanos > 0) {
+            meterRegistry.counter("gateway.rate-limit.requests", "route", route, "result", "limited",
+                    "scope", scope).increment();
+            return waitNanos;
+        }
+        meterRegistry.counter("gateway.rate-limit.requests", "route", route, "result", "allowed").increment();
+        return 0;
+    }
+
+    public static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public static String getRejectionMessage(long waitNanos) {
+        return String.format("Слишком много запросов. Повторите через %d с.", toRetryAfterSeconds(waitNanos));
+    }
+
+    private String getRoute(String path) {
+        for (Map.Entry<String, RateLimitProperties.Route> route : properties.getRoutes().entrySet()) {
+            if (pathMatcher.match(route.getValue().getPath(), path)) {
+                return route.getKey();
+            }
+        }
+        return DEFAULT_ROUTE;
+    }
+
+    private TokenBucket newUserBucket(String route) {
+        RateLimitProperties.Route limit = properties.getRoutes().get(route);
+        if (limit == null) {
+            return new TokenBucket(properties.getUser().getCapacity(), properties.getUser().getRefillPerSecond());
+        }
+        return new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond());
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class TokenBucket {
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong emptyAt = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(long capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Некорректные параметры лимита: capacity=" + capacity +
+                    ", refillPerSecond=" + refillPerSecond);
+        }
+        refillIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        burstNanos = refillIntervalNanos * (capacity - 1);
+    }
+
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = emptyAt.get();
+            long start = Math.max(current, nowNanos);
+            long waitNanos = start - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (emptyAt.compareAndSet(current, start + refillIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    void refund() {
+        emptyAt.addAndGet(-refillIntervalNanos);
+    }
+}
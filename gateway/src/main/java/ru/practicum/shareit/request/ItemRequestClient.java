@@ -1,34 +1,45 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemRequestClient(ServerExchangeFactory exchangeFactory, ResponseCache cache,
+                             RequestCoalescer coalescer) {
+        super(exchangeFactory.create(API_PREFIX), cache, coalescer, "requests");
     }
 
-    public ResponseEntity<Object> getItemRequestsByUserId(long userId) {
-        return get("", userId);
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestsByUserId(long userId, int from, Integer size) {
+        if (size == null) {
+            return get("", userId);
+        }
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOtherItemRequests(long userId, int from, int size) {
+    public CompletableFuture<ResponseEntity<Object>> getOtherItemRequests(long userId, String after, int from, int size) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "after", after,
+                    "size", size
+            );
+            return get("/all?after={after}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -36,11 +47,11 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequestById(long requestId, long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestById(long requestId, long userId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> createItemRequest(long userId, ItemRequestDto itemRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 }
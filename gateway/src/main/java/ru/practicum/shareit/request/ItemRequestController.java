@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @Slf4j
@@ -19,29 +20,32 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @GetMapping
-    public ResponseEntity<Object> getItemRequestsByUserId(@RequestHeader("X-Sharer-User-Id") long userId) {
-        log.info("Получен GET-запрос /requests: userId={}.", userId);
-        return itemRequestClient.getItemRequestsByUserId(userId);
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestsByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                             @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                             @Positive @RequestParam(required = false) Integer size) {
+        log.info("Получен GET-запрос /requests: userId={}, from={}, size={}.", userId, from, size);
+        return itemRequestClient.getItemRequestsByUserId(userId, from, size);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getOtherItemRequests(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                       @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                       @Positive @RequestParam(defaultValue = "20") int size) {
-        log.info("Получен GET-запрос /requests: userId={}, from={}, size={}.", userId, from, size);
-        return itemRequestClient.getOtherItemRequests(userId, from, size);
+    public CompletableFuture<ResponseEntity<Object>> getOtherItemRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                          @RequestParam(required = false) String after,
+                                                                          @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+                                                                          @Positive @RequestParam(defaultValue = "20") int size) {
+        log.info("Получен GET-запрос /requests: userId={}, after: {}, from={}, size={}.", userId, after, from, size);
+        return itemRequestClient.getOtherItemRequests(userId, after, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(@PathVariable long requestId,
-                                                     @RequestHeader("X-Sharer-User-Id") long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestById(@PathVariable long requestId,
+                                                                        @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Получен GET-запрос /requests: requestId={}, userId={}.", requestId, userId);
         return itemRequestClient.getItemRequestById(requestId, userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                    @Valid @RequestBody ItemRequestDto itemRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createItemRequest(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                       @Valid @RequestBody ItemRequestDto itemRequestDto) {
         log.info("Получен POST-запрос /requests: userId={}, itemRequest: {}.", userId, itemRequestDto);
         return itemRequestClient.createItemRequest(userId, itemRequestDto);
     }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @Slf4j
@@ -15,32 +16,32 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getAllUsers() {
         log.info("Получен GET-запрос /users.");
         return userClient.getAllUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUserById(@PathVariable long userId) {
         log.info("Получен GET-запрос /users: userId={}.", userId);
         return userClient.getUserById(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Valid @RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(@Valid @RequestBody UserDto userDto) {
         log.info("Получен POST-запрос /users: user: {}.", userDto);
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable long userId, @RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@PathVariable long userId, @RequestBody UserDto userDto) {
         log.info("Получен PATCH-запрос /bookings: userId={}, user: {}.", userId, userDto);
         return userClient.updateUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public void deleteUser(@PathVariable long userId) {
+    public CompletableFuture<Void> deleteUser(@PathVariable long userId) {
         log.info("Получен DELETE-запрос /users: userId={}.", userId);
-        userClient.deleteUser(userId);
+        return userClient.deleteUser(userId).thenAccept(response -> { });
     }
 }
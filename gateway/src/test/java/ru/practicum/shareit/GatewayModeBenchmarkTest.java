@@ -0,0 +1,109 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@Tag("benchmark")
+class GatewayModeBenchmarkTest {
+    private static final int TOMCAT_THREADS = 16;
+    private static final int CONCURRENT_REQUESTS = 256;
+    private static final long SERVER_LATENCY_MILLIS = 50;
+    private static final int ROUNDS = 3;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        server.setExecutor(serverExecutor);
+        server.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(SERVER_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"id\": 1, \"name\": \"test user\", \"email\": \"testuser@mail.com\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void nonBlockingModeServesMoreRequestsThanTomcatThreads() throws Exception {
+        long blocking = measure("blocking");
+        long nonBlocking = measure("non-blocking");
+
+        log.info("{} concurrent requests, {} Tomcat threads, {} ms server latency: " +
+                        "blocking {} ms, non-blocking {} ms", CONCURRENT_REQUESTS, TOMCAT_THREADS,
+                SERVER_LATENCY_MILLIS, blocking, nonBlocking);
+        assertTrue(blocking >= CONCURRENT_REQUESTS / TOMCAT_THREADS * SERVER_LATENCY_MILLIS);
+        assertTrue(nonBlocking < blocking);
+    }
+
+    private long measure(String mode) throws Exception {
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                        "--shareit-gateway.mode=" + mode,
+                        "--shareit-gateway.cache.enabled=false",
+                        "--shareit-gateway.rate-limit.enabled=false",
+                        "--shareit-gateway.resilience.enabled=false",
+                        "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                        "--logging.level.ru.practicum.shareit.user=WARN")) {
+            String gatewayUrl = "http://localhost:" + gateway.getEnvironment().getProperty("local.server.port");
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < ROUNDS; i++) {
+                long start = System.nanoTime();
+                sendConcurrently(gatewayUrl, CONCURRENT_REQUESTS);
+                best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+            }
+            return best;
+        }
+    }
+
+    private void sendConcurrently(String gatewayUrl, int count) {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(gatewayUrl + "/users/" + i)).build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        responses.forEach(response -> assertEquals(200, response.join().statusCode(), response.join().body()));
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"shareit-gateway.batch.max-requests=4",
+                "shareit-gateway.rate-limit.routes.search.capacity=2",
+                "shareit-gateway.rate-limit.routes.search.refill-per-second=0.001"})
+@AutoConfigureMockMvc
+class BatchControllerTest {
+    @MockBean
+    private UserClient userClient;
+    @MockBean
+    private ItemClient itemClient;
+    @MockBean
+    private BookingClient bookingClient;
+    @MockBean
+    private ItemRequestClient itemRequestClient;
+    @Autowired
+    private MockMvc mockMvc;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void executeBatch() throws Exception {
+        when(userClient.getUserById(1)).thenReturn(getResponse("{\"id\": 1, \"name\": \"test user\"}"));
+        when(itemClient.getItemsByUserId(1, 0, 20)).thenReturn(getResponse("[{\"id\": 1}]"));
+        when(bookingClient.getBookingsByUserId(1, BookingState.WAITING, null, 0, 10))
+                .thenReturn(getResponse("[{\"id\": 2}]"));
+        when(itemRequestClient.getItemRequestsByUserId(1, 0, null)).thenReturn(getResponse("[]"));
+
+        perform(List.of(new BatchRequest("GET", "/users/1"),
+                new BatchRequest("GET", "/items"),
+                new BatchRequest("GET", "/bookings?state=WAITING&size=10"),
+                new BatchRequest("GET", "/requests")))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"status\": 200, \"body\": {\"id\": 1, \"name\": \"test user\"}}," +
+                        "{\"status\": 200, \"body\": [{\"id\": 1}]}," +
+                        "{\"status\": 200, \"body\": [{\"id\": 2}]}," +
+                        "{\"status\": 200, \"body\": []}]", true));
+    }
+
+    @Test
+    void executeBatchWithFailedSubRequests() throws Exception {
+        when(itemClient.getItemById(1, 1)).thenReturn(getResponse("{\"id\": 1}"));
+
+        perform(List.of(new BatchRequest("GET", "/items?size=0"),
+                new BatchRequest("GET", "/items/1"),
+                new BatchRequest("POST", "/items"),
+                new BatchRequest("GET", "/comments/1")))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"status\": 400}, {\"status\": 200, \"body\": {\"id\": 1}}," +
+                        "{\"status\": 400}, {\"status\": 404}]"));
+        verify(itemClient, never()).getItemsByUserId(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void executeBatchChargesSubRequestRateLimits() throws Exception {
+        when(itemClient.searchItemsByText("дрель", null, 0, 20)).thenReturn(getResponse("[]"));
+
+        perform(Collections.nCopies(4, new BatchRequest("GET", "/items/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.status == 200)]", hasSize(2)))
+                .andExpect(jsonPath("$[?(@.status == 429)]", hasSize(2)))
+                .andExpect(jsonPath("$[?(@.status == 429)].body.error", everyItem(startsWith("Слишком много"))));
+        verify(itemClient, times(2)).searchItemsByText("дрель", null, 0, 20);
+    }
+
+    @Test
+    void executeBatchWithNonJsonBody() throws Exception {
+        when(userClient.getUserById(2)).thenReturn(CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .body("Сервер недоступен".getBytes(StandardCharsets.UTF_8))));
+
+        perform(List.of(new BatchRequest("GET", "/users/2"), new BatchRequest("GET", "//example.com/users")))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"status\": 503, \"body\": \"Сервер недоступен\"}," +
+                        "{\"status\": 400}]"));
+    }
+
+    @Test
+    void executeBatchUnderContextPath() throws Exception {
+        when(userClient.getUserById(2)).thenReturn(getResponse("{\"id\": 2}"));
+        when(itemClient.searchItemsByText("ручная дрель", null, 0, 20)).thenReturn(getResponse("[]"));
+
+        MvcResult result = mockMvc.perform(post("/gateway/batch")
+                        .contextPath("/gateway")
+                        .header("X-Sharer-User-Id", 2)
+                        .content(mapper.writeValueAsString(List.of(new BatchRequest("GET", "/users/2"),
+                                new BatchRequest("GET", "/items/search?text=%D1%80%D1%83%D1%87%D0%BD%D0%B0%D1%8F+" +
+                                        "%D0%B4%D1%80%D0%B5%D0%BB%D1%8C"))))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"status\": 200, \"body\": {\"id\": 2}}," +
+                        "{\"status\": 200, \"body\": []}]", true));
+    }
+
+    @Test
+    void executeTooLargeBatch() throws Exception {
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(Collections.nCopies(5, new BatchRequest("GET", "/users"))))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userClient);
+    }
+
+    private ResultActions perform(List<BatchRequest> requests) throws Exception {
+        MvcResult result = mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(requests))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> getResponse(String json) {
+        return CompletableFuture.completedFuture(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseClientCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Deque<CompletableFuture<ResponseEntity<Object>>> upstream = new ArrayDeque<>();
+    private final AtomicInteger upstreamGets = new AtomicInteger();
+    private final ServerExchange exchange = (method, path, headers, parameters, body) -> {
+        if (method != HttpMethod.GET) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok().build());
+        }
+        upstreamGets.incrementAndGet();
+        return upstream.poll();
+    };
+    private final BaseClient client = new BaseClient(exchange,
+            new ResponseCache(true, Set.of("items"), 100, Duration.ofMinutes(1), meterRegistry),
+            new RequestCoalescer(true, meterRegistry), "items");
+
+    @Test
+    void getAfterWriteDoesNotJoinRequestStartedBeforeWrite() {
+        CompletableFuture<ResponseEntity<Object>> beforeWrite = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> afterWrite = new CompletableFuture<>();
+        upstream.add(beforeWrite);
+        upstream.add(afterWrite);
+
+        CompletableFuture<ResponseEntity<Object>> first = client.get("/1", 1L, null);
+        client.patch("/1", 1L, "{\"available\": false}").join();
+        CompletableFuture<ResponseEntity<Object>> second = client.get("/1", 1L, null);
+        beforeWrite.complete(ResponseEntity.ok("available"));
+        afterWrite.complete(ResponseEntity.ok("unavailable"));
+
+        assertEquals(2, upstreamGets.get());
+        assertEquals("available", first.join().getBody());
+        assertEquals("unavailable", second.join().getBody());
+        assertEquals("unavailable", client.get("/1", 1L, null).join().getBody());
+        assertEquals(2, upstreamGets.get());
+    }
+}
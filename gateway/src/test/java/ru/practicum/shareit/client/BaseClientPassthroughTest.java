@@ -0,0 +1,128 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@Slf4j
+class BaseClientPassthroughTest {
+    private final RestTemplate rest = new RestTemplate();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final BaseClient client = new BaseClient(rest);
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    @Test
+    void getReturnsServerBytesWithHeaders() {
+        String json = getBookingsJson(2);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "cursor");
+        server.expect(requestTo("/bookings"))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/bookings").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void getReturnsErrorBodyWithContentType() {
+        String json = "{\"error\": \"Пользователь с ID = 1 не найден.\"}";
+        server.expect(requestTo("/users/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(json));
+
+        ResponseEntity<Object> response = client.get("/users/1").join();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void passthroughIsCheaperThanParsing() {
+        String json = getBookingsJson(200);
+        server.expect(ExpectedCount.manyTimes(), requestTo("/bookings"))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
+
+        Cost parsed = measure(() -> {
+            try {
+                return mapper.writeValueAsBytes(rest.getForEntity("/bookings", Object.class).getBody());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Cost passthrough = measure(() -> (byte[]) client.get("/bookings").join().getBody());
+
+        log.info("parsed: {} ns, {} bytes per request; passthrough: {} ns, {} bytes per request",
+                parsed.cpuNanos, parsed.allocatedBytes, passthrough.cpuNanos, passthrough.allocatedBytes);
+        assertTrue(passthrough.allocatedBytes < parsed.allocatedBytes);
+    }
+
+    private Cost measure(Supplier<byte[]> request) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int warmup = 500;
+        int iterations = 2000;
+        for (int i = 0; i < warmup; i++) {
+            request.get();
+        }
+        long cpu = threads.getCurrentThreadCpuTime();
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            request.get();
+        }
+        return new Cost((threads.getCurrentThreadCpuTime() - cpu) / iterations,
+                (threads.getThreadAllocatedBytes(threadId) - allocated) / iterations);
+    }
+
+    private String getBookingsJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"start\":\"2026-10-18T12:00:00\",\"end\":\"2026-10-19T12:00:00\"")
+                    .append(",\"item\":{\"id\":").append(i).append(",\"name\":\"test item ").append(i).append("\"}")
+                    .append(",\"booker\":{\"id\":").append(i + 1).append("},\"status\":\"APPROVED\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static class Cost {
+        private final long cpuNanos;
+        private final long allocatedBytes;
+
+        Cost(long cpuNanos, long allocatedBytes) {
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientConfigTest {
+    private static final int LARGE_RESPONSE_SIZE = 1024 * 1024;
+    private final HttpClientConfig config = new HttpClientConfig();
+    private final ConnectionProvider connectionProvider = ConnectionProvider.newConnection();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            byte[] body = ("\"" + "a".repeat(LARGE_RESPONSE_SIZE) + "\"").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        connectionProvider.dispose();
+    }
+
+    @Test
+    void nonBlockingExchangeReadsLargeResponse() {
+        ResponseEntity<Object> response = getExchange(new HttpClientProperties()).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(LARGE_RESPONSE_SIZE + 2, ((byte[]) response.getBody()).length);
+    }
+
+    @Test
+    void nonBlockingExchangeRejectsResponseAboveLimit() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxResponseSize(DataSize.ofKilobytes(256));
+
+        assertThrows(CompletionException.class, () -> getExchange(properties).join());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> getExchange(HttpClientProperties properties) {
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.setEnabled(false);
+        ServerExchangeFactory factory = config.nonBlockingServerExchangeFactory(
+                "http://localhost:" + server.getAddress().getPort(), properties, connectionProvider,
+                WebClient.builder(), new ServerCallGuard(resilience, new SimpleMeterRegistry()));
+        return factory.create("/items").exchange(HttpMethod.GET, "/1", new HttpHeaders(), Map.of(), null);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(true, meterRegistry);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void identicalConcurrentRequestsShareOneUpstreamCall() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+        RequestKey key = getKey(1L);
+
+        CompletableFuture<ResponseEntity<Object>> first = coalescer.execute(key, () -> call(upstream));
+        CompletableFuture<ResponseEntity<Object>> second = coalescer.execute(key, () -> call(upstream));
+        upstream.complete(ResponseEntity.ok("test item"));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("test item", first.join().getBody());
+        assertSame(first.join(), second.join());
+        assertEquals(1, meterRegistry.get("gateway.requests.coalesced").counter().count());
+    }
+
+    @Test
+    void requestsOfDifferentUsersAreNotCoalesced() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+
+        coalescer.execute(getKey(1L), () -> call(upstream));
+        coalescer.execute(getKey(2L), () -> call(upstream));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, meterRegistry.get("gateway.requests.coalesced").counter().count());
+    }
+
+    @Test
+    void completedRequestIsNotReused() {
+        RequestKey key = getKey(1L);
+
+        coalescer.execute(key, () -> call(CompletableFuture.completedFuture(ResponseEntity.ok("test item"))));
+        coalescer.execute(key, () -> call(CompletableFuture.completedFuture(ResponseEntity.ok("test item"))));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void failureIsSharedAndNotReused() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+        RequestKey key = getKey(1L);
+
+        CompletableFuture<ResponseEntity<Object>> first = coalescer.execute(key, () -> call(upstream));
+        CompletableFuture<ResponseEntity<Object>> second = coalescer.execute(key, () -> call(upstream));
+        upstream.completeExceptionally(new IllegalStateException("Connection refused"));
+        coalescer.execute(key, () -> call(new CompletableFuture<>()));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> call(CompletableFuture<ResponseEntity<Object>> response) {
+        upstreamCalls.incrementAndGet();
+        return response;
+    }
+
+    private RequestKey getKey(Long userId) {
+        return new RequestKey("items", "/{itemId}", userId, Map.of("itemId", 1));
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+    private final ResponseCache cache = new ResponseCache(true, Set.of("items", "bookings"), 100,
+            Duration.ofMinutes(1), new SimpleMeterRegistry());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void secondRequestIsServedFromCache() {
+        RequestKey key = getKey("items", 1L);
+
+        ResponseEntity<Object> miss = cache.get(key, () -> call(ResponseEntity.ok("test item"))).join();
+        ResponseEntity<Object> hit = cache.get(key, () -> call(ResponseEntity.ok("other item"))).join();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("test item", miss.getBody());
+        assertEquals("test item", hit.getBody());
+    }
+
+    @Test
+    void requestsOfDifferentUsersAreCachedSeparately() {
+        cache.get(getKey("items", 1L), () -> call(ResponseEntity.ok("test item"))).join();
+        cache.get(getKey("items", 2L), () -> call(ResponseEntity.ok("test item"))).join();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void errorResponseIsNotCached() {
+        RequestKey key = getKey("items", 1L);
+
+        cache.get(key, () -> call(ResponseEntity.status(HttpStatus.NOT_FOUND).build())).join();
+        ResponseEntity<Object> response = cache.get(key, () -> call(ResponseEntity.ok("test item"))).join();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void familyOutsideConfigurationIsNotCached() {
+        RequestKey key = getKey("users", 1L);
+
+        cache.get(key, () -> call(ResponseEntity.ok("test user"))).join();
+        cache.get(key, () -> call(ResponseEntity.ok("test user"))).join();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void cachedResponseHasNoUpstreamDate() {
+        RequestKey key = getKey("items", 1L);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setDate(0);
+        headers.set("X-Next-Cursor", "cursor");
+
+        cache.get(key, () -> call(new ResponseEntity<>("test item", headers, HttpStatus.OK))).join();
+        ResponseEntity<Object> hit = cache.get(key, () -> call(ResponseEntity.ok("test item"))).join();
+
+        assertNull(hit.getHeaders().getFirst(HttpHeaders.DATE));
+        assertEquals("cursor", hit.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    @Test
+    void bookingWriteEvictsDependentItems() {
+        RequestKey item = getKey("items", 1L);
+        RequestKey booking = getKey("bookings", 1L);
+        cache.get(item, () -> call(ResponseEntity.ok("test item"))).join();
+        cache.get(booking, () -> call(ResponseEntity.ok("test booking"))).join();
+
+        cache.invalidate(List.of("bookings", "items"));
+        cache.get(item, () -> call(ResponseEntity.ok("booked item"))).join();
+        ResponseEntity<Object> response = cache.get(item, () -> call(ResponseEntity.ok("other item"))).join();
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals("booked item", response.getBody());
+    }
+
+    @Test
+    void responseLoadedDuringWriteIsNotCached() {
+        RequestKey key = getKey("items", 1L);
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<Object>> beforeWrite = cache.get(key, () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream;
+        });
+        cache.invalidate(List.of("items"));
+        upstream.complete(ResponseEntity.ok("available"));
+        ResponseEntity<Object> afterWrite = cache.get(key, () -> call(ResponseEntity.ok("unavailable"))).join();
+
+        assertEquals("available", beforeWrite.join().getBody());
+        assertEquals("unavailable", afterWrite.getBody());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> call(ResponseEntity<Object> response) {
+        upstreamCalls.incrementAndGet();
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private RequestKey getKey(String family, Long userId) {
+        return new RequestKey(family, "/{id}", userId, Map.of("id", 1));
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerCallGuardTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicLong latencyMillis = new AtomicLong();
+    private final AtomicInteger serverCalls = new AtomicInteger();
+    private ExecutorService executor;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/items", exchange -> {
+            serverCalls.incrementAndGet();
+            try {
+                Thread.sleep(latencyMillis.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"id\": 1}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status.get(), body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void openCircuitOnServerErrors() {
+        ResilienceProperties properties = getProperties();
+        properties.getCircuitBreaker().setWaitInOpenState(Duration.ofMinutes(1));
+        ServerExchange exchange = getExchange(properties);
+        status.set(500);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, get(exchange, "/1").getStatusCode());
+        }
+        CompletionException e = assertThrows(CompletionException.class, () -> get(exchange, "/1"));
+        status.set(200);
+
+        assertInstanceOf(ServiceUnavailableException.class, e.getCause());
+        assertEquals(4, serverCalls.get());
+        assertEquals(HttpStatus.OK, get(exchange, "/search?text={text}").getStatusCode());
+        assertEquals(1, meterRegistry.get("gateway.circuit-breaker.transitions")
+                .tags("name", "items/{id}", "from", "CLOSED", "to", "OPEN").counter().count());
+    }
+
+    @Test
+    void openCircuitOnSlowCallsAndCloseAfterProbe() throws Exception {
+        ResilienceProperties properties = getProperties();
+        properties.getCircuitBreaker().setSlowCallDuration(Duration.ofMillis(100));
+        properties.getCircuitBreaker().setWaitInOpenState(Duration.ofMillis(300));
+        ServerExchange exchange = getExchange(properties);
+        latencyMillis.set(200);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.OK, get(exchange, "/1").getStatusCode());
+        }
+        assertThrows(CompletionException.class, () -> get(exchange, "/1"));
+        latencyMillis.set(0);
+        Thread.sleep(400);
+
+        assertEquals(HttpStatus.OK, get(exchange, "/1").getStatusCode());
+        assertEquals(HttpStatus.OK, get(exchange, "/1").getStatusCode());
+        assertEquals(1, meterRegistry.get("gateway.circuit-breaker.transitions")
+                .tags("from", "OPEN", "to", "HALF_OPEN").counter().count());
+        assertEquals(1, meterRegistry.get("gateway.circuit-breaker.transitions")
+                .tags("from", "HALF_OPEN", "to", "CLOSED").counter().count());
+    }
+
+    @Test
+    void rejectCallsOverFamilyConcurrencyLimit() throws Exception {
+        ResilienceProperties properties = getProperties();
+        properties.getBulkhead().getFamilies().put("items", 2);
+        ServerExchange exchange = getExchange(properties);
+        latencyMillis.set(300);
+
+        List<CompletableFuture<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            responses.add(CompletableFuture.supplyAsync(() -> get(exchange, "/1"), executor));
+        }
+        Thread.sleep(100);
+        CompletionException e = assertThrows(CompletionException.class, () -> get(exchange, "/2"));
+
+        assertInstanceOf(ServiceUnavailableException.class, e.getCause());
+        responses.forEach(response -> assertEquals(HttpStatus.OK, response.join().getStatusCode()));
+        assertEquals(2, serverCalls.get());
+    }
+
+    private ResponseEntity<Object> get(ServerExchange exchange, String path) {
+        return exchange.exchange(HttpMethod.GET, path, new HttpHeaders(),
+                path.contains("{text}") ? Map.of("text", "test") : null, null).join();
+    }
+
+    private ServerExchange getExchange(ResilienceProperties properties) {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" +
+                server.getAddress().getPort() + "/items"));
+        return new ServerCallGuard(properties, meterRegistry).protect("items", new RestTemplateExchange(rest));
+    }
+
+    private ResilienceProperties getProperties() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setHalfOpenCalls(2);
+        return properties;
+    }
+}
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void limitUserAfterCapacity() throws Exception {
+        RateLimitFilter filter = getFilter(getProperties());
+
+        assertEquals(200, send(filter, "/items/1", "1").getStatus());
+        assertEquals(200, send(filter, "/items/1", "1").getStatus());
+        MockHttpServletResponse limited = send(filter, "/items/1", "1");
+        MockHttpServletResponse otherUser = send(filter, "/items/1", "2");
+
+        assertEquals(429, limited.getStatus());
+        assertEquals("1000", limited.getHeader("Retry-After"));
+        assertTrue(limited.getContentAsString().contains("Слишком много запросов"));
+        assertEquals(200, otherUser.getStatus());
+        assertEquals(3, meterRegistry.get("gateway.rate-limit.requests")
+                .tags("route", "default", "result", "allowed").counter().count());
+        assertEquals(1, meterRegistry.get("gateway.rate-limit.requests")
+                .tags("route", "default", "result", "limited", "scope", "user").counter().count());
+    }
+
+    @Test
+    void limitRouteSeparately() throws Exception {
+        RateLimitProperties properties = getProperties();
+        RateLimitProperties.Route search = new RateLimitProperties.Route();
+        search.setPath("/items/search");
+        search.setCapacity(1);
+        search.setRefillPerSecond(0.001);
+        properties.getRoutes().put("search", search);
+        RateLimitFilter filter = getFilter(properties);
+
+        assertEquals(200, send(filter, "/items/search", null).getStatus());
+        assertEquals(429, send(filter, "/items/search", null).getStatus());
+        assertEquals(200, send(filter, "/items", null).getStatus());
+    }
+
+    @Test
+    void limitAllUsersGlobally() throws Exception {
+        RateLimitProperties properties = getProperties();
+        properties.setGlobal(new RateLimitProperties.Limit(3, 0.001));
+        RateLimitFilter filter = getFilter(properties);
+
+        for (int userId = 1; userId <= 3; userId++) {
+            assertEquals(200, send(filter, "/users/" + userId, String.valueOf(userId)).getStatus());
+        }
+        assertEquals(429, send(filter, "/users/4", "4").getStatus());
+        assertEquals(1, meterRegistry.get("gateway.rate-limit.requests")
+                .tags("result", "limited", "scope", "global").counter().count());
+    }
+
+    @Test
+    void keepUserTokenWhenLimitedGlobally() throws Exception {
+        RateLimitProperties properties = getProperties();
+        properties.setGlobal(new RateLimitProperties.Limit(1, 0.001));
+        RateLimitFilter filter = getFilter(properties);
+
+        assertEquals(200, send(filter, "/users/1", "1").getStatus());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(429, send(filter, "/users/1", "1").getStatus());
+        }
+        assertEquals(3, meterRegistry.get("gateway.rate-limit.requests")
+                .tags("result", "limited", "scope", "global").counter().count());
+        assertTrue(meterRegistry.find("gateway.rate-limit.requests").tags("scope", "user").counters().isEmpty());
+    }
+
+    @Test
+    void refundTokenBucket() {
+        TokenBucket bucket = new TokenBucket(1, 10);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(0) > 0);
+        bucket.refund();
+        assertEquals(0, bucket.tryConsume(0));
+    }
+
+    @Test
+    void skipActuator() throws Exception {
+        RateLimitProperties properties = getProperties();
+        properties.setUser(new RateLimitProperties.Limit(1, 0.001));
+        RateLimitFilter filter = getFilter(properties);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send(filter, "/actuator/health", null).getStatus());
+        }
+    }
+
+    @Test
+    void refillTokenBucket() {
+        TokenBucket bucket = new TokenBucket(2, 10);
+        long now = 0;
+
+        assertEquals(0, bucket.tryConsume(now));
+        assertEquals(0, bucket.tryConsume(now));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.tryConsume(now));
+        assertEquals(0, bucket.tryConsume(now + TimeUnit.MILLISECONDS.toNanos(100)));
+        assertTrue(bucket.tryConsume(now + TimeUnit.MILLISECONDS.toNanos(100)) > 0);
+    }
+
+    private RateLimitFilter getFilter(RateLimitProperties properties) {
+        return new RateLimitFilter(new RateLimiter(properties, meterRegistry), new ObjectMapper());
+    }
+
+    private RateLimitProperties getProperties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGlobal(new RateLimitProperties.Limit(1000, 1000));
+        properties.setUser(new RateLimitProperties.Limit(2, 0.001));
+        return properties;
+    }
+
+    private MockHttpServletResponse send(RateLimitFilter filter, String path, String userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (userId != null) {
+            request.addHeader("X-Sharer-User-Id", userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
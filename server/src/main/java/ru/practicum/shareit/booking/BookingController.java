@@ -2,9 +2,12 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPagination;
 
 import java.util.List;
 
@@ -16,23 +19,33 @@ public class BookingController {
     private final BookingService bookingService;
 
     @GetMapping
-    public List<BookingDtoWithInfo> getBookingsByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                        @RequestParam(defaultValue = "ALL") String state,
-                                                        @RequestParam(defaultValue = "0") int from,
-                                                        @RequestParam(defaultValue = "20") int size) {
-        List<BookingDtoWithInfo> bookings = bookingService.getBookingsByUserId(userId, state, from, size);
+    public ResponseEntity<List<BookingDtoWithInfo>> getBookingsByUserId(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size) {
+        List<BookingDtoWithInfo> bookings = after != null
+                ? bookingService.getBookingsByUserIdAfter(userId, state, after, size)
+                : bookingService.getBookingsByUserId(userId, state, from, size);
         log.info("Получен список всех бронирований пользователя с ID = {}.", userId);
-        return bookings;
+        return CursorPagination.withNextCursor(bookings, size,
+                booking -> new Cursor(booking.getStart(), booking.getId()));
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoWithInfo> getBookingsByItemOwnerId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                             @RequestParam(defaultValue = "ALL") String state,
-                                                             @RequestParam(defaultValue = "0") int from,
-                                                             @RequestParam(defaultValue = "20") int size) {
-        List<BookingDtoWithInfo> bookings = bookingService.getBookingsByItemOwnerId(userId, state, from, size);
+    public ResponseEntity<List<BookingDtoWithInfo>> getBookingsByItemOwnerId(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size) {
+        List<BookingDtoWithInfo> bookings = after != null
+                ? bookingService.getBookingsByItemOwnerIdAfter(userId, state, after, size)
+                : bookingService.getBookingsByItemOwnerId(userId, state, from, size);
         log.info("Получен список бронирований всех вещей пользователя с ID = {}.", userId);
-        return bookings;
+        return CursorPagination.withNextCursor(bookings, size,
+                booking -> new Cursor(booking.getStart(), booking.getId()));
     }
 
     @GetMapping("/{bookingId}")
@@ -3,6 +3,9 @@ package ru.practicum.shareit.booking;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
 import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingShortWithItemId;
+import ru.practicum.shareit.booking.dto.ItemShort;
+import ru.practicum.shareit.booking.dto.UserShort;
 
 public class BookingMapper {
 
@@ -11,17 +14,17 @@ public class BookingMapper {
                 Status.WAITING);
     }
 
-    public static Booking toBookingFromInfo(BookingDtoWithInfo bookingDtoWithInfo) {
-        return new Booking(bookingDtoWithInfo.getId(), bookingDtoWithInfo.getStart(), bookingDtoWithInfo.getEnd(),
-                bookingDtoWithInfo.getItem(), bookingDtoWithInfo.getBooker(), bookingDtoWithInfo.getStatus());
-    }
-
     public static BookingDtoWithInfo toBookingDtoWithInfo(Booking booking) {
-        return new BookingDtoWithInfo(booking.getId(), booking.getStart(), booking.getEnd(), booking.getItem(),
-                booking.getBooker(), booking.getStatus());
+        return new BookingDtoWithInfo(booking.getId(), booking.getStart(), booking.getEnd(),
+                new ItemShort(booking.getItem().getId(), booking.getItem().getName()),
+                new UserShort(booking.getBooker().getId()), booking.getStatus());
     }
 
     public static BookingShort toBookingShort(Booking booking) {
         return new BookingShort(booking.getId(), booking.getBooker() != null ? booking.getBooker().getId() : null);
     }
+
+    public static BookingShort toBookingShort(BookingShortWithItemId booking) {
+        return new BookingShort(booking.getId(), booking.getBookerId());
+    }
 }
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.pagination.Cursor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BookingQuery {
+    private final BookingRole role;
+    private final long userId;
+    private final State state;
+    private final LocalDateTime now;
+    private final Cursor after;
+    private final int from;
+    private final int size;
+
+    public static BookingQuery page(BookingRole role, long userId, State state, LocalDateTime now, int from,
+                                    int size) {
+        return new BookingQuery(role, userId, state, now, null, from, size);
+    }
+
+    public static BookingQuery after(BookingRole role, long userId, State state, LocalDateTime now,
+                                     Cursor after, int size) {
+        return new BookingQuery(role, userId, state, now, after, 0, size);
+    }
+}
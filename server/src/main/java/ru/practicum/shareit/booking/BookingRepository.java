@@ -1,28 +1,54 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingShortWithItemId;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findAllByBookerId(long bookerId, Pageable pageable);
+    @Override
+    @EntityGraph("Booking.withItemAndBooker")
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findAllByBookerIdAndStartAfter(long bookerId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndEndBefore(long bookerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(long bookerId, LocalDateTime start, LocalDateTime end,
-                                                             Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStatus(long bookerId, Status status, Pageable pageable);
+    @Query(" select new ru.practicum.shareit.booking.dto.BookingShort(b.id, b.booker.id) " +
+            "from Booking as b " +
+            "where b.item.id = ?1 " +
+            "  and b.end < ?2 " +
+            "order by b.end desc")
+    List<BookingShort> findLastBooking(long itemId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByItemIdAndStartAfterOrderByStartDesc(long itemId, LocalDateTime start);
+    @Query(" select new ru.practicum.shareit.booking.dto.BookingShort(b.id, b.booker.id) " +
+            "from Booking as b " +
+            "where b.item.id = ?1 " +
+            "  and b.start > ?2 " +
+            "order by b.start asc")
+    List<BookingShort> findNextBooking(long itemId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByItemIdAndEndBeforeOrderByEndDesc(long itemId, LocalDateTime end);
+    @Query(" select new ru.practicum.shareit.booking.dto.BookingShortWithItemId(b.item.id, b.id, b.booker.id) " +
+            "from Booking as b " +
+            "where b.item.id in ?1 " +
+            "  and b.end = (select max(lb.end) " +
+            "               from Booking as lb " +
+            "               where lb.item.id = b.item.id " +
+            "                 and lb.end < ?2)")
+    List<BookingShortWithItemId> findLastBookings(Collection<Long> itemIds, LocalDateTime now);
+
+    @Query(" select new ru.practicum.shareit.booking.dto.BookingShortWithItemId(b.item.id, b.id, b.booker.id) " +
+            "from Booking as b " +
+            "where b.item.id in ?1 " +
+            "  and b.start = (select min(nb.start) " +
+            "                 from Booking as nb " +
+            "                 where nb.item.id = b.item.id " +
+            "                   and nb.start > ?2)")
+    List<BookingShortWithItemId> findNextBookings(Collection<Long> itemIds, LocalDateTime now);
 
     @Query(" select (count(b) > 0) " +
             "from Booking as b " +
@@ -35,14 +61,5 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findAllByBookerIdAndItemIdAndStatusAndEndBefore(long bookerId, long itemId, Status status,
                                                                   LocalDateTime end);
 
-    List<Booking> findAllByItemOwnerId(long itemOwnerId, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartAfter(long itemOwnerId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndEndBefore(long itemOwnerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfter(long itemOwnerId, LocalDateTime start, LocalDateTime end,
-                                                                Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStatus(long itemOwnerId, Status status, Pageable pageable);
+    boolean existsByItemOwnerId(long itemOwnerId);
 }
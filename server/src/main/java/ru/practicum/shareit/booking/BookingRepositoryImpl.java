@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDtoWithInfo> findAll(BookingQuery bookingQuery) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingDtoWithInfo> query = builder.createQuery(BookingDtoWithInfo.class);
+        Root<Booking> root = query.from(Booking.class);
+        Specification<Booking> specification = BookingSpecifications
+                .byRole(bookingQuery.getRole(), bookingQuery.getUserId())
+                .and(BookingSpecifications.inState(bookingQuery.getState(), bookingQuery.getNow()));
+        if (bookingQuery.getAfter() != null) {
+            specification = specification.and(BookingSpecifications.after(bookingQuery.getAfter()));
+        }
+        query.select(builder.construct(BookingDtoWithInfo.class, root.get("id"), root.get("start"),
+                        root.get("end"), root.get("item").get("id"), root.get("item").get("name"),
+                        root.get("booker").get("id"), root.get("status")))
+                .where(specification.toPredicate(root, query, builder))
+                .orderBy(builder.desc(root.get("start")), builder.desc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult(bookingQuery.getFrom())
+                .setMaxResults(bookingQuery.getSize())
+                .getResultList();
+    }
+}
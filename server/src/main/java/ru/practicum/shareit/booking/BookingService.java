@@ -11,6 +11,10 @@ public interface BookingService {
 
     List<BookingDtoWithInfo> getBookingsByItemOwnerId(long itemOwnerId, String state, int from, int size);
 
+    List<BookingDtoWithInfo> getBookingsByUserIdAfter(long userId, String state, String after, int size);
+
+    List<BookingDtoWithInfo> getBookingsByItemOwnerIdAfter(long itemOwnerId, String state, String after, int size);
+
     BookingDtoWithInfo getBookingById(long id, long userId);
 
     BookingDtoWithInfo createBooking(BookingDto bookingDto, long userId);
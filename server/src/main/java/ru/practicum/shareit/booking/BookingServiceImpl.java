@@ -1,9 +1,6 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
@@ -12,13 +9,13 @@ import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.WrongParameterException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,94 +26,42 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingDtoWithInfo> getBookingsByUserId(long userId, String state, int from, int size) {
-        userService.getUserById(userId);
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("start").descending());
-        try {
-            switch (State.valueOf(state)) {
-                case ALL:
-                    return bookingRepository.findAllByBookerId(userId, pageable).stream()
-                            .map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                case PAST:
-                    return bookingRepository.findAllByBookerIdAndEndBefore(userId, LocalDateTime.now(), pageable)
-                            .stream().map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                case CURRENT:
-                    return bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(userId, LocalDateTime.now(),
-                                    LocalDateTime.now(), pageable).stream()
-                            .map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                case FUTURE:
-                    return bookingRepository.findAllByBookerIdAndStartAfter(userId, LocalDateTime.now(), pageable)
-                            .stream().map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                case WAITING:
-                    return bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING, pageable).stream()
-                            .map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                case REJECTED:
-                    return bookingRepository.findAllByBookerIdAndStatus(userId, Status.REJECTED, pageable).stream()
-                            .map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                default:
-                    throw new WrongParameterException("Unknown state: " + state);
-            }
-        } catch (IllegalArgumentException e) {
-            throw new WrongParameterException("Unknown state: " + state);
-        }
+        userService.checkUserExists(userId);
+        return bookingRepository.findAll(BookingQuery.page(BookingRole.BOOKER, userId, parseState(state),
+                LocalDateTime.now(), from, size));
     }
 
     @Override
     public List<BookingDtoWithInfo> getBookingsByItemOwnerId(long itemOwnerId, String state, int from, int size) {
-        userService.getUserById(itemOwnerId);
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("start").descending());
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerId(itemOwnerId, pageable);
-        if (bookings.isEmpty()) {
+        userService.checkUserExists(itemOwnerId);
+        List<BookingDtoWithInfo> bookings = bookingRepository.findAll(BookingQuery.page(BookingRole.OWNER,
+                itemOwnerId, parseState(state), LocalDateTime.now(), from, size));
+        if (bookings.isEmpty() && !bookingRepository.existsByItemOwnerId(itemOwnerId)) {
             throw new ObjectNotFoundException(
                     String.format("У пользователя с ID = %d нет забронированных вещей.", itemOwnerId));
         }
-        try {
-            switch (State.valueOf(state)) {
-                case ALL:
-                    return bookingRepository.findAllByItemOwnerId(itemOwnerId, pageable).stream()
-                            .map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                case PAST:
-                    return bookingRepository.findAllByItemOwnerIdAndEndBefore(itemOwnerId, LocalDateTime.now(),
-                                    pageable).stream()
-                            .map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                case CURRENT:
-                    return bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfter(itemOwnerId,
-                                    LocalDateTime.now(), LocalDateTime.now(), pageable).stream()
-                            .map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                case FUTURE:
-                    return bookingRepository.findAllByItemOwnerIdAndStartAfter(itemOwnerId, LocalDateTime.now(),
-                                    pageable).stream()
-                            .map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                case WAITING:
-                    return bookingRepository.findAllByItemOwnerIdAndStatus(itemOwnerId, Status.WAITING, pageable)
-                            .stream().map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                case REJECTED:
-                    return bookingRepository.findAllByItemOwnerIdAndStatus(itemOwnerId, Status.REJECTED, pageable)
-                            .stream().map(BookingMapper::toBookingDtoWithInfo)
-                            .collect(Collectors.toList());
-                default:
-                    throw new WrongParameterException("Unknown state: " + state);
-            }
-        } catch (IllegalArgumentException e) {
-            throw new WrongParameterException("Unknown state: " + state);
-        }
+        return bookings;
+    }
+
+    @Override
+    public List<BookingDtoWithInfo> getBookingsByUserIdAfter(long userId, String state, String after, int size) {
+        userService.checkUserExists(userId);
+        return bookingRepository.findAll(BookingQuery.after(BookingRole.BOOKER, userId, parseState(state),
+                LocalDateTime.now(), Cursor.decode(after), size));
+    }
+
+    @Override
+    public List<BookingDtoWithInfo> getBookingsByItemOwnerIdAfter(long itemOwnerId, String state, String after,
+                                                                  int size) {
+        userService.checkUserExists(itemOwnerId);
+        return bookingRepository.findAll(BookingQuery.after(BookingRole.OWNER, itemOwnerId, parseState(state),
+                LocalDateTime.now(), Cursor.decode(after), size));
     }
 
     @Override
     public BookingDtoWithInfo getBookingById(long id, long userId) {
-        userService.getUserById(userId);
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new ObjectNotFoundException(String.format("Бронирование с ID = %d не найдено.", id)));
+        userService.checkUserExists(userId);
+        Booking booking = getBookingFromRepositoryById(id);
         if (booking.getBooker().getId() == userId || booking.getItem().getOwner().getId() == userId) {
             return BookingMapper.toBookingDtoWithInfo(booking);
         }
@@ -150,20 +95,34 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public BookingDtoWithInfo approveBooking(long id, long userId, Boolean approved) {
-        BookingDtoWithInfo bookingDtoWithInfo = getBookingById(id, userId);
-        if (bookingDtoWithInfo.getItem().getOwner().getId() != userId) {
+        userService.checkUserExists(userId);
+        Booking booking = getBookingFromRepositoryById(id);
+        if (booking.getItem().getOwner().getId() != userId) {
             throw new AccessDeniedException(String.format(
                     "Пользователь с ID = %d не является владельцем вещи.", userId));
         }
-        if (bookingDtoWithInfo.getStatus().equals(Status.APPROVED)) {
+        if (booking.getStatus().equals(Status.APPROVED)) {
             throw new WrongParameterException("Бронирование не может быть подтверждено дважды.");
         }
         if (approved) {
-            bookingDtoWithInfo.setStatus(Status.APPROVED);
+            booking.setStatus(Status.APPROVED);
         } else {
-            bookingDtoWithInfo.setStatus(Status.REJECTED);
+            booking.setStatus(Status.REJECTED);
+        }
+        bookingRepository.save(booking);
+        return BookingMapper.toBookingDtoWithInfo(booking);
+    }
+
+    private Booking getBookingFromRepositoryById(long id) {
+        return bookingRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(String.format("Бронирование с ID = %d не найдено.", id)));
+    }
+
+    private State parseState(String state) {
+        try {
+            return State.valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new WrongParameterException("Unknown state: " + state);
         }
-        return BookingMapper.toBookingDtoWithInfo(bookingRepository.save(
-                BookingMapper.toBookingFromInfo(bookingDtoWithInfo)));
     }
 }
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.pagination.Cursor;
+
+import java.time.LocalDateTime;
+
+public class BookingSpecifications {
+
+    public static Specification<Booking> byRole(BookingRole role, long userId) {
+        return role == BookingRole.OWNER ? byItemOwner(userId) : byBooker(userId);
+    }
+
+    public static Specification<Booking> byBooker(long bookerId) {
+        return (root, query, builder) -> builder.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> byItemOwner(long itemOwnerId) {
+        return (root, query, builder) -> builder.equal(root.get("item").get("owner").get("id"), itemOwnerId);
+    }
+
+    public static Specification<Booking> inState(State state, LocalDateTime now) {
+        switch (state) {
+            case PAST:
+                return (root, query, builder) -> builder.lessThan(root.get("end"), now);
+            case CURRENT:
+                return (root, query, builder) -> builder.and(builder.lessThan(root.get("start"), now),
+                        builder.greaterThan(root.get("end"), now));
+            case FUTURE:
+                return (root, query, builder) -> builder.greaterThan(root.get("start"), now);
+            case WAITING:
+                return (root, query, builder) -> builder.equal(root.get("status"), Status.WAITING);
+            case REJECTED:
+                return (root, query, builder) -> builder.equal(root.get("status"), Status.REJECTED);
+            default:
+                return (root, query, builder) -> builder.conjunction();
+        }
+    }
+
+    public static Specification<Booking> after(Cursor cursor) {
+        return (root, query, builder) -> builder.or(builder.lessThan(root.get("start"), cursor.getDate()),
+                builder.and(builder.equal(root.get("start"), cursor.getDate()),
+                        builder.lessThan(root.get("id"), cursor.getId())));
+    }
+}
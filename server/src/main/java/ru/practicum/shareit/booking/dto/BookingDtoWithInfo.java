@@ -3,8 +3,6 @@ package ru.practicum.shareit.booking.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import ru.practicum.shareit.booking.Status;
-import ru.practicum.shareit.item.Item;
-import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 
@@ -14,7 +12,12 @@ public class BookingDtoWithInfo {
     private Long id;
     private LocalDateTime start;
     private LocalDateTime end;
-    private Item item;
-    private User booker;
+    private ItemShort item;
+    private UserShort booker;
     private Status status;
+
+    public BookingDtoWithInfo(Long id, LocalDateTime start, LocalDateTime end, Long itemId, String itemName,
+                              Long bookerId, Status status) {
+        this(id, start, end, new ItemShort(itemId, itemName), new UserShort(bookerId), status);
+    }
 }
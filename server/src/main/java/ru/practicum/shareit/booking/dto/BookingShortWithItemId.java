@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BookingShortWithItemId {
+    private Long itemId;
+    private Long id;
+    private Long bookerId;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.cache")
+public class CacheRegionProperties {
+    private Map<String, Region> regions = new HashMap<>();
+
+    @Data
+    public static class Region {
+        private Long maximumSize;
+        private Duration expireAfterWrite;
+    }
+}
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.index", havingValue = "memory")
+public class InMemoryItemSearchIndex implements ItemSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private final ItemRepository itemRepository;
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void build() {
+        Page<Item> page;
+        int pageNumber = 0;
+        do {
+            page = itemRepository.findAll(PageRequest.of(pageNumber++, LOAD_BATCH_SIZE, Sort.by("id")));
+            page.forEach(this::index);
+        } while (page.hasNext());
+        log.info("Поисковый индекс вещей построен: {} вещей, {} слов.", page.getTotalElements(), postings.size());
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        String query = toLowerCase(text);
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return itemRepository.searchAvailable(text, PageRequest.of(from / size, size));
+        }
+        return find(query, queryTokens, Long.MIN_VALUE, from, size);
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, long afterId, int size) {
+        String query = toLowerCase(text);
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return itemRepository.searchAvailableAfter(text, afterId, PageRequest.of(0, size));
+        }
+        return find(query, queryTokens, afterId, 0, size);
+    }
+
+    @Override
+    public void index(Item item) {
+        if (item.getId() == null || !Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String token : tokenize(item)) {
+                postings.computeIfAbsent(token, t -> new PostingList()).add(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Item item) {
+        if (item.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String token : tokenize(item)) {
+                PostingList postingList = postings.get(token);
+                if (postingList == null) {
+                    continue;
+                }
+                postingList.remove(item.getId());
+                if (postingList.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Item> find(String query, Set<String> queryTokens, long afterId, int skip, int size) {
+        List<Item> found = new ArrayList<>();
+        while (found.size() < size) {
+            int limit = Math.min(skip + size - found.size(), LOAD_BATCH_SIZE);
+            long[] ids = findCandidateIds(queryTokens, afterId, limit);
+            for (Item item : getItems(ids)) {
+                if (found.size() == size || !matches(item, query)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    found.add(item);
+                }
+            }
+            if (ids.length < limit) {
+                break;
+            }
+            afterId = ids[ids.length - 1];
+        }
+        return found;
+    }
+
+    private long[] findCandidateIds(Set<String> queryTokens, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<List<PostingList>> groups = new ArrayList<>(queryTokens.size());
+            for (String queryToken : queryTokens) {
+                List<PostingList> group = postings.entrySet().stream()
+                        .filter(entry -> entry.getKey().contains(queryToken))
+                        .map(Map.Entry::getValue)
+                        .collect(Collectors.toList());
+                if (group.isEmpty()) {
+                    return new long[0];
+                }
+                groups.add(group);
+            }
+            return PostingList.intersectUnions(groups, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Item> getItems(long[] ids) {
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(Arrays.stream(ids).boxed().collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return Arrays.stream(ids)
+                .mapToObj(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean matches(Item item, String query) {
+        return Boolean.TRUE.equals(item.getAvailable())
+                && (toLowerCase(item.getName()).contains(query) || toLowerCase(item.getDescription()).contains(query));
+    }
+
+    private static String toLowerCase(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+
+    private static Set<String> tokenize(Item item) {
+        return tokenize(toLowerCase(item.getName()), toLowerCase(item.getDescription()));
+    }
+
+    private static Set<String> tokenize(String... texts) {
+        return Arrays.stream(texts)
+                .flatMap(TOKEN_SEPARATOR::splitAsStream)
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithInfo;
 
@@ -39,6 +40,15 @@ public class ItemController {
         return createdItem;
     }
 
+    @PostMapping("/bulk")
+    public List<ItemBulkResult> createItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @RequestBody List<ItemDto> itemDtos) {
+        List<ItemBulkResult> results = itemService.createItems(itemDtos, userId);
+        log.info("Пакетно добавлено вещей: {} из {}.",
+                results.stream().filter(result -> result.getError() == null).count(), results.size());
+        return results;
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId,
                               @RequestBody ItemDto itemDto) {
@@ -49,9 +59,11 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemDto> searchItemsByText(@RequestParam(required = false) String text,
+                                           @RequestParam(required = false) Long after,
                                            @RequestParam(defaultValue = "0") int from,
                                            @RequestParam(defaultValue = "20") int size) {
-        List<ItemDto> items = itemService.searchItemsByText(text, from, size);
+        List<ItemDto> items = after != null ? itemService.searchItemsByTextAfter(text, after, size)
+                : itemService.searchItemsByText(text, from, size);
         log.info("Получен список всех вещей, содержащих текст '{}'.", text);
         return items;
     }
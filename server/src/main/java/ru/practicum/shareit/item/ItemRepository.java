@@ -2,15 +2,39 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
     List<Item> findAllByOwnerId(long ownerId, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Item> findAllByRequestId(long requestId);
 
-    List<Item> findAllByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description,
-                                                                                  Pageable pageable);
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    @Query(" select i " +
+            "from Item as i " +
+            "where i.available = true " +
+            "  and (lower(i.name) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()} " +
+            "    or lower(i.description) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()}) " +
+            "order by i.id")
+    List<Item> searchAvailable(String text, Pageable pageable);
+
+    @Query(" select i " +
+            "from Item as i " +
+            "where i.available = true " +
+            "  and i.id > ?#{[1]} " +
+            "  and (lower(i.name) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()} " +
+            "    or lower(i.description) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()}) " +
+            "order by i.id")
+    List<Item> searchAvailableAfter(String text, long afterId, Pageable pageable);
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+
+public interface ItemRepositoryCustom {
+    void insertAll(List<Item> items);
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void insertAll(List<Item> items) {
+        int batchSize = Math.max(1,
+                entityManager.unwrap(Session.class).getSessionFactory().getSessionFactoryOptions().getJdbcBatchSize());
+        for (int i = 0; i < items.size(); i++) {
+            entityManager.persist(items.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+            }
+        }
+        entityManager.flush();
+    }
+}
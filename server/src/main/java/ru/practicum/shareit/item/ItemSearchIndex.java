@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+
+public interface ItemSearchIndex {
+
+    List<Item> search(String text, int from, int size);
+
+    List<Item> searchAfter(String text, long afterId, int size);
+
+    default void index(Item item) {
+    }
+
+    default void remove(Item item) {
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithInfo;
 
@@ -13,9 +14,13 @@ public interface ItemService {
 
     ItemDto createItem(ItemDto itemDto, long userId);
 
+    List<ItemBulkResult> createItems(List<ItemDto> itemDtos, long userId);
+
     ItemDto updateItem(ItemDto itemDto, long id, long userId);
 
     List<ItemDto> searchItemsByText(String text, int from, int size);
 
+    List<ItemDto> searchItemsByTextAfter(String text, long afterId, int size);
+
     CommentDto createComment(CommentDto commentDto, long itemId, long userId);
 }
@@ -4,14 +4,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.Booking;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingShortWithItemId;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.WrongParameterException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithInfo;
 import ru.practicum.shareit.request.ItemRequestRepository;
@@ -23,34 +27,42 @@ import ru.practicum.shareit.user.UserService;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 1024;
     private final ItemRepository itemRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final UserService userService;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
     public List<ItemDtoWithInfo> getItemsByUserId(long userId, int from, int size) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         Pageable pageable = PageRequest.of(from / size, size);
         List<ItemDtoWithInfo> items = itemRepository.findAllByOwnerId(userId, pageable).stream()
                 .map(ItemMapper::toItemDtoWithInfo)
                 .collect(Collectors.toList());
-        items.forEach(this::setBookingsForItem);
-        items.forEach(this::setCommentsForItem);
+        setBookingsForItems(items);
+        setCommentsForItems(items);
         items.sort(Comparator.comparing(ItemDtoWithInfo::getId));
         return items;
     }
 
     @Override
     public ItemDtoWithInfo getItemById(long id, long userId) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         Item item = getItemFromRepositoryById(id);
         ItemDtoWithInfo itemDtoWithInfo = ItemMapper.toItemDtoWithInfo(item);
         if (item.getOwner().getId() == userId) {
@@ -71,22 +83,70 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new ObjectNotFoundException(
                             String.format("Запрос с ID = %d не найден.", requestId))));
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item createdItem = itemRepository.save(item);
+        afterCommit(() -> itemSearchIndex.index(createdItem));
+        return ItemMapper.toItemDto(createdItem);
+    }
+
+    @Override
+    @Transactional
+    public List<ItemBulkResult> createItems(List<ItemDto> itemDtos, long userId) {
+        User owner = UserMapper.toUser(userService.getUserById(userId));
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty() ? Set.of()
+                : new HashSet<>(itemRequestRepository.findExistingIds(requestIds));
+        List<ItemBulkResult> results = new ArrayList<>(itemDtos.size());
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            String error = validateItem(itemDto, existingRequestIds);
+            if (error != null) {
+                results.add(new ItemBulkResult(i, null, error));
+                continue;
+            }
+            Item item = ItemMapper.toItem(itemDto);
+            item.setId(null);
+            item.setOwner(owner);
+            if (itemDto.getRequestId() != null) {
+                item.setRequest(itemRequestRepository.getReferenceById(itemDto.getRequestId()));
+            }
+            items.add(item);
+            results.add(new ItemBulkResult(i, null, null));
+        }
+        itemRepository.insertAll(items);
+        afterCommit(() -> items.forEach(itemSearchIndex::index));
+        int created = 0;
+        for (ItemBulkResult result : results) {
+            if (result.getError() == null) {
+                result.setItem(ItemMapper.toItemDto(items.get(created++)));
+            }
+        }
+        return results;
     }
 
     @Override
     public ItemDto updateItem(ItemDto itemDto, long id, long userId) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         Item formerItem = getItemFromRepositoryById(id);
         if (formerItem.getOwner().getId() != userId) {
             throw new AccessDeniedException(
                     String.format("Пользователь с ID = %d не является владельцем вещи.", userId));
         }
+        Item indexedItem = new Item(formerItem.getId(), formerItem.getName(), formerItem.getDescription(),
+                formerItem.getAvailable(), formerItem.getOwner(), formerItem.getRequest());
         formerItem.setName(itemDto.getName() != null ? itemDto.getName() : formerItem.getName());
         formerItem.setDescription(
                 itemDto.getDescription() != null ? itemDto.getDescription() : formerItem.getDescription());
         formerItem.setAvailable(itemDto.getAvailable() != null ? itemDto.getAvailable() : formerItem.getAvailable());
-        return ItemMapper.toItemDto(itemRepository.save(formerItem));
+        Item updatedItem = itemRepository.save(formerItem);
+        afterCommit(() -> {
+            itemSearchIndex.remove(indexedItem);
+            itemSearchIndex.index(updatedItem);
+        });
+        return ItemMapper.toItemDto(updatedItem);
     }
 
     @Override
@@ -94,11 +154,17 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank()) {
             return new ArrayList<>();
         }
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<Item> items = itemRepository.findAllByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(text, text,
-                pageable);
-        return items.stream()
-                .filter(Item::getAvailable)
+        return itemSearchIndex.search(text, from, size).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemDto> searchItemsByTextAfter(String text, long afterId, int size) {
+        if (text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return itemSearchIndex.searchAfter(text, afterId, size).stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
@@ -117,24 +183,110 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentDto(commentRepository.save(comment));
     }
 
+    private String validateItem(ItemDto itemDto, Set<Long> existingRequestIds) {
+        if (itemDto == null) {
+            return "Не переданы данные вещи.";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Не указано название вещи.";
+        }
+        if (itemDto.getName().length() > MAX_NAME_LENGTH) {
+            return String.format("Название вещи длиннее %d символов.", MAX_NAME_LENGTH);
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Не указано описание вещи.";
+        }
+        if (itemDto.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            return String.format("Описание вещи длиннее %d символов.", MAX_DESCRIPTION_LENGTH);
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Не указано, доступна ли вещь для аренды.";
+        }
+        Long requestId = itemDto.getRequestId();
+        if (requestId != null && !existingRequestIds.contains(requestId)) {
+            return String.format("Запрос с ID = %d не найден.", requestId);
+        }
+        return null;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private Item getItemFromRepositoryById(long id) {
         return itemRepository.findById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(String.format("Вещь с ID = %d не найдена.", id)));
     }
 
     private void setBookingsForItem(ItemDtoWithInfo item) {
-        List<Booking> lastBookings = bookingRepository.findAllByItemIdAndEndBeforeOrderByEndDesc(item.getId(),
-                LocalDateTime.now());
-        List<Booking> nextBookings = bookingRepository.findAllByItemIdAndStartAfterOrderByStartDesc(item.getId(),
-                LocalDateTime.now());
-        if (!lastBookings.isEmpty()) {
-            item.setLastBooking(BookingMapper.toBookingShort(lastBookings.get(0)));
+        LocalDateTime now = LocalDateTime.now();
+        Pageable top = PageRequest.of(0, 1);
+        bookingRepository.findLastBooking(item.getId(), now, top).stream()
+                .findFirst()
+                .ifPresent(item::setLastBooking);
+        bookingRepository.findNextBooking(item.getId(), now, top).stream()
+                .findFirst()
+                .ifPresent(item::setNextBooking);
+    }
+
+    private void setBookingsForItems(List<ItemDtoWithInfo> items) {
+        if (items.isEmpty()) {
+            return;
         }
-        if (!nextBookings.isEmpty()) {
-            item.setNextBooking(BookingMapper.toBookingShort(nextBookings.get(0)));
+        List<Long> itemIds = getItemIds(items);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingShortWithItemId> lastBookings = groupBookingsByItemId(
+                bookingRepository.findLastBookings(itemIds, now));
+        Map<Long, BookingShortWithItemId> nextBookings = groupBookingsByItemId(
+                bookingRepository.findNextBookings(itemIds, now));
+        for (ItemDtoWithInfo item : items) {
+            BookingShortWithItemId lastBooking = lastBookings.get(item.getId());
+            BookingShortWithItemId nextBooking = nextBookings.get(item.getId());
+            if (lastBooking != null) {
+                item.setLastBooking(BookingMapper.toBookingShort(lastBooking));
+            }
+            if (nextBooking != null) {
+                item.setNextBooking(BookingMapper.toBookingShort(nextBooking));
+            }
         }
     }
 
+    private Map<Long, BookingShortWithItemId> groupBookingsByItemId(List<BookingShortWithItemId> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(BookingShortWithItemId::getItemId, Function.identity(),
+                        (first, other) -> first));
+    }
+
+    private void setCommentsForItems(List<ItemDtoWithInfo> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(getItemIds(items)).stream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        for (ItemDtoWithInfo item : items) {
+            List<CommentDto> itemComments = comments.get(item.getId());
+            if (itemComments != null) {
+                item.setComments(itemComments);
+            }
+        }
+    }
+
+    private List<Long> getItemIds(List<ItemDtoWithInfo> items) {
+        return items.stream()
+                .map(ItemDtoWithInfo::getId)
+                .collect(Collectors.toList());
+    }
+
     private void setCommentsForItem(ItemDtoWithInfo item) {
         List<CommentDto> comments = commentRepository.findAllByItemId(item.getId()).stream()
                 .map(CommentMapper::toCommentDto)
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+class PostingList {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final long NONE = Long.MAX_VALUE;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertionPoint = -position - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertionPoint, ids, insertionPoint + 1, size - insertionPoint);
+        ids[insertionPoint] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    static long[] intersectUnions(List<List<PostingList>> groups, long afterId, int limit) {
+        List<Union> unions = new ArrayList<>(groups.size());
+        for (List<PostingList> group : groups) {
+            unions.add(new Union(group, afterId));
+        }
+        long[] result = new long[limit];
+        int k = 0;
+        long target = afterId;
+        while (k < limit && target < Long.MAX_VALUE) {
+            target++;
+            boolean found = false;
+            while (!found) {
+                found = true;
+                for (Union union : unions) {
+                    long id = union.seek(target);
+                    if (id == NONE) {
+                        return Arrays.copyOf(result, k);
+                    }
+                    if (id != target) {
+                        target = id;
+                        found = false;
+                    }
+                }
+            }
+            result[k++] = target;
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+    }
+
+    private static class Union {
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingLong(Head::getId));
+
+        Union(List<PostingList> lists, long afterId) {
+            for (PostingList list : lists) {
+                Head head = new Head(list);
+                if (head.seek(afterId + 1)) {
+                    heads.add(head);
+                }
+            }
+        }
+
+        long seek(long target) {
+            while (!heads.isEmpty() && heads.peek().getId() < target) {
+                Head head = heads.poll();
+                if (head.seek(target)) {
+                    heads.add(head);
+                }
+            }
+            return heads.isEmpty() ? NONE : heads.peek().getId();
+        }
+    }
+
+    private static class Head {
+        private final PostingList list;
+        private int position;
+
+        Head(PostingList list) {
+            this.list = list;
+        }
+
+        long getId() {
+            return list.ids[position];
+        }
+
+        boolean seek(long target) {
+            if (position < list.size && list.ids[position] >= target) {
+                return true;
+            }
+            int found = Arrays.binarySearch(list.ids, position, list.size, target);
+            position = found >= 0 ? found : -found - 1;
+            return position < list.size;
+        }
+    }
+}
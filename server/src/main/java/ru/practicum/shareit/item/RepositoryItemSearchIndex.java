@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.index", havingValue = "database", matchIfMissing = true)
+public class RepositoryItemSearchIndex implements ItemSearchIndex {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return itemRepository.searchAvailable(text, PageRequest.of(from / size, size));
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, long afterId, int size) {
+        return itemRepository.searchAvailableAfter(text, afterId, PageRequest.of(0, size));
+    }
+}
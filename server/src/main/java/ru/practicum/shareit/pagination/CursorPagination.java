@@ -0,0 +1,19 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPagination {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static <T> ResponseEntity<List<T>> withNextCursor(List<T> page, int size, Function<T, Cursor> cursorOf) {
+        if (page.isEmpty() || page.size() < size) {
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, cursorOf.apply(page.get(page.size() - 1)).encode())
+                .body(page);
+    }
+}
@@ -2,7 +2,10 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPagination;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWithInfo;
 
@@ -16,19 +19,26 @@ public class ItemRequestController {
     private final ItemRequestService itemRequestService;
 
     @GetMapping
-    public List<ItemRequestDtoWithInfo> getItemRequestsByUserId(@RequestHeader("X-Sharer-User-Id") long userId) {
-        List<ItemRequestDtoWithInfo> itemRequests = itemRequestService.getItemRequestsByUserId(userId);
+    public List<ItemRequestDtoWithInfo> getItemRequestsByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                @RequestParam(defaultValue = "0") int from,
+                                                                @RequestParam(required = false) Integer size) {
+        List<ItemRequestDtoWithInfo> itemRequests = itemRequestService.getItemRequestsByUserId(userId, from, size);
         log.info("Получен список всех запросов пользователя.");
         return itemRequests;
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDtoWithInfo> getOtherItemRequests(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                             @RequestParam(defaultValue = "0") int from,
-                                                             @RequestParam(defaultValue = "20") int size) {
-        List<ItemRequestDtoWithInfo> itemRequests = itemRequestService.getOtherItemRequests(userId, from, size);
+    public ResponseEntity<List<ItemRequestDtoWithInfo>> getOtherItemRequests(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size) {
+        List<ItemRequestDtoWithInfo> itemRequests = after != null
+                ? itemRequestService.getOtherItemRequestsAfter(userId, after, size)
+                : itemRequestService.getOtherItemRequests(userId, from, size);
         log.info("Получен список запросов, созданных другими пользователями.");
-        return itemRequests;
+        return CursorPagination.withNextCursor(itemRequests, size,
+                itemRequest -> new Cursor(itemRequest.getCreated(), itemRequest.getId()));
     }
 
     @GetMapping("/{requestId}")
@@ -1,10 +1,33 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(long requesterId);
+    List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(long requesterId, Pageable pageable);
+
+    @Query(" select r " +
+            "from ItemRequest as r " +
+            "where r.requester.id <> ?1 " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findOtherRequests(long userId, Pageable pageable);
+
+    @Query(" select r " +
+            "from ItemRequest as r " +
+            "where r.requester.id <> ?1 " +
+            "  and (r.created < ?2 " +
+            "    or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findOtherRequestsAfter(long userId, LocalDateTime created, long afterId, Pageable pageable);
+
+    @Query(" select r.id " +
+            "from ItemRequest as r " +
+            "where r.id in ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
 }
@@ -7,10 +7,12 @@ import java.util.List;
 
 public interface ItemRequestService {
 
-    List<ItemRequestDtoWithInfo> getItemRequestsByUserId(long userId);
+    List<ItemRequestDtoWithInfo> getItemRequestsByUserId(long userId, int from, Integer size);
 
     List<ItemRequestDtoWithInfo> getOtherItemRequests(long userId, int from, int size);
 
+    List<ItemRequestDtoWithInfo> getOtherItemRequestsAfter(long userId, String after, int size);
+
     ItemRequestDtoWithInfo getItemRequestById(long id, long userId);
 
     ItemRequestDto createItemRequest(ItemRequestDto itemRequestDto, long userId);
@@ -3,12 +3,12 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWithInfo;
 import ru.practicum.shareit.user.User;
@@ -16,6 +16,7 @@ import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,30 +27,43 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserService userService;
 
     @Override
-    public List<ItemRequestDtoWithInfo> getItemRequestsByUserId(long userId) {
-        userService.getUserById(userId);
-        List<ItemRequestDtoWithInfo> itemRequests = itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId)
-                .stream().map(ItemRequestMapper::toItemRequestDtoWithInfo)
+    public List<ItemRequestDtoWithInfo> getItemRequestsByUserId(long userId, int from, Integer size) {
+        userService.checkUserExists(userId);
+        Pageable pageable = size != null ? PageRequest.of(from / size, size) : Pageable.unpaged();
+        List<ItemRequestDtoWithInfo> itemRequests = itemRequestRepository
+                .findAllByRequesterIdOrderByCreatedDesc(userId, pageable).stream()
+                .map(ItemRequestMapper::toItemRequestDtoWithInfo)
                 .collect(Collectors.toList());
-        itemRequests.forEach(this::setItemsForRequest);
+        setItemsForRequests(itemRequests);
         return itemRequests;
     }
 
     @Override
     public List<ItemRequestDtoWithInfo> getOtherItemRequests(long userId, int from, int size) {
-        userService.getUserById(userId);
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("created").descending());
-        List<ItemRequestDtoWithInfo> itemRequests = itemRequestRepository.findAll(pageable).stream()
-                .filter(i -> i.getRequester().getId() != userId)
+        userService.checkUserExists(userId);
+        Pageable pageable = PageRequest.of(from / size, size);
+        List<ItemRequestDtoWithInfo> itemRequests = itemRequestRepository.findOtherRequests(userId, pageable).stream()
+                .map(ItemRequestMapper::toItemRequestDtoWithInfo)
+                .collect(Collectors.toList());
+        setItemsForRequests(itemRequests);
+        return itemRequests;
+    }
+
+    @Override
+    public List<ItemRequestDtoWithInfo> getOtherItemRequestsAfter(long userId, String after, int size) {
+        userService.checkUserExists(userId);
+        Cursor cursor = Cursor.decode(after);
+        List<ItemRequestDtoWithInfo> itemRequests = itemRequestRepository.findOtherRequestsAfter(userId,
+                        cursor.getDate(), cursor.getId(), PageRequest.of(0, size)).stream()
                 .map(ItemRequestMapper::toItemRequestDtoWithInfo)
                 .collect(Collectors.toList());
-        itemRequests.forEach(this::setItemsForRequest);
+        setItemsForRequests(itemRequests);
         return itemRequests;
     }
 
     @Override
     public ItemRequestDtoWithInfo getItemRequestById(long id, long userId) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(id)
                 .orElseThrow(() -> new ObjectNotFoundException(String.format("Запрос с ID = %d не найден.", id)));
         ItemRequestDtoWithInfo itemRequestDtoWithInfo = ItemRequestMapper.toItemRequestDtoWithInfo(itemRequest);
@@ -65,6 +79,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest));
     }
 
+    private void setItemsForRequests(List<ItemRequestDtoWithInfo> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return;
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequestDtoWithInfo::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        for (ItemRequestDtoWithInfo itemRequest : itemRequests) {
+            List<ItemDto> requestItems = items.get(itemRequest.getId());
+            if (requestItems != null) {
+                itemRequest.setItems(requestItems);
+            }
+        }
+    }
+
     private void setItemsForRequest(ItemRequestDtoWithInfo itemRequest) {
         List<ItemDto> items = itemRepository.findAllByRequestId(itemRequest.getId()).stream()
                 .map(ItemMapper::toItemDto)
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class UserCache {
+    private final Cache<Long, UserDto> users;
+    private final Cache<Long, Boolean> existingUserIds;
+
+    public UserCache(@Value("${shareit.cache.users.maximum-size:10000}") long maximumSize,
+                     @Value("${shareit.cache.users.expire-after-write:5m}") Duration expireAfterWrite,
+                     MeterRegistry meterRegistry) {
+        users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        existingUserIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, existingUserIds, "userIds");
+    }
+
+    public UserDto get(long id, Function<Long, UserDto> loader) {
+        return copy(users.get(id, loader));
+    }
+
+    public boolean isKnown(long id) {
+        return users.getIfPresent(id) != null || existingUserIds.getIfPresent(id) != null;
+    }
+
+    public void markExisting(long id) {
+        existingUserIds.put(id, true);
+    }
+
+    public void invalidate(long id) {
+        users.invalidate(id);
+        existingUserIds.invalidate(id);
+    }
+
+    private UserDto copy(UserDto user) {
+        return new UserDto(user.getId(), user.getName(), user.getEmail());
+    }
+}
@@ -7,6 +7,8 @@ public interface UserService {
 
     UserDto getUserById(long id);
 
+    void checkUserExists(long id);
+
     UserDto createUser(UserDto userDto);
 
     UserDto updateUser(UserDto userDto, long id);
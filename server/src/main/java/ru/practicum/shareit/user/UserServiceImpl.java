@@ -11,6 +11,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     public List<UserDto> getAllUsers() {
@@ -22,9 +23,18 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto getUserById(long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ObjectNotFoundException(String.format("Пользователь с ID = %d не найден.", id)));
-        return UserMapper.toUserDto(user);
+        return userCache.get(id, this::findUserById);
+    }
+
+    @Override
+    public void checkUserExists(long id) {
+        if (userCache.isKnown(id)) {
+            return;
+        }
+        if (!userRepository.existsById(id)) {
+            throw new ObjectNotFoundException(String.format("Пользователь с ID = %d не найден.", id));
+        }
+        userCache.markExisting(id);
     }
 
     @Override
@@ -35,16 +45,27 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto updateUser(UserDto userDto, long id) {
-        UserDto formerUser = getUserById(id);
+        UserDto formerUser = findUserById(id);
         formerUser.setName(userDto.getName() != null ? userDto.getName() : formerUser.getName());
         formerUser.setEmail(userDto.getEmail() != null ? userDto.getEmail() : formerUser.getEmail());
         User user = UserMapper.toUser(formerUser);
-        return UserMapper.toUserDto(userRepository.save(user));
+        UserDto updatedUser = UserMapper.toUserDto(userRepository.save(user));
+        userCache.invalidate(id);
+        return updatedUser;
     }
 
     @Override
     public void deleteUser(long id) {
-        getUserById(id);
+        if (!userRepository.existsById(id)) {
+            throw new ObjectNotFoundException(String.format("Пользователь с ID = %d не найден.", id));
+        }
         userRepository.deleteById(id);
+        userCache.invalidate(id);
+    }
+
+    private UserDto findUserById(long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ObjectNotFoundException(String.format("Пользователь с ID = %d не найден.", id)));
+        return UserMapper.toUserDto(user);
     }
 }
@@ -0,0 +1,15 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (lower(description) gin_trgm_ops);
+
+SELECT setval('users_seq', greatest(m.max_id, s.last_value), true) FROM (SELECT max(id) AS max_id FROM users) m, users_seq s WHERE m.max_id IS NOT NULL AND (NOT s.is_called OR m.max_id > s.last_value);
+
+SELECT setval('requests_seq', greatest(m.max_id, s.last_value), true) FROM (SELECT max(id) AS max_id FROM requests) m, requests_seq s WHERE m.max_id IS NOT NULL AND (NOT s.is_called OR m.max_id > s.last_value);
+
+SELECT setval('items_seq', greatest(m.max_id, s.last_value), true) FROM (SELECT max(id) AS max_id FROM items) m, items_seq s WHERE m.max_id IS NOT NULL AND (NOT s.is_called OR m.max_id > s.last_value);
+
+SELECT setval('bookings_seq', greatest(m.max_id, s.last_value), true) FROM (SELECT max(id) AS max_id FROM bookings) m, bookings_seq s WHERE m.max_id IS NOT NULL AND (NOT s.is_called OR m.max_id > s.last_value);
+
+SELECT setval('comments_seq', greatest(m.max_id, s.last_value), true) FROM (SELECT max(id) AS max_id FROM comments) m, comments_seq s WHERE m.max_id IS NOT NULL AND (NOT s.is_called OR m.max_id > s.last_value);
@@ -1,6 +1,16 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users
 (
-    id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id    BIGINT                                  NOT NULL,
     name  VARCHAR(255)                            NOT NULL,
     email VARCHAR(255)                            NOT NULL,
     CONSTRAINT pk_users PRIMARY KEY (id),
@@ -9,7 +19,7 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id           BIGINT                                  NOT NULL,
     description  VARCHAR(512)                            NOT NULL,
     requester_id BIGINT                                  NOT NULL,
     created_date TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
@@ -19,7 +29,7 @@ CREATE TABLE IF NOT EXISTS requests
 
 CREATE TABLE IF NOT EXISTS items
 (
-    id          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id          BIGINT                                  NOT NULL,
     name        VARCHAR(255)                            NOT NULL,
     description VARCHAR(1024)                           NOT NULL,
     available   BOOLEAN                                 NOT NULL,
@@ -32,7 +42,7 @@ CREATE TABLE IF NOT EXISTS items
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id         BIGINT                                  NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     end_date   TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     item_id    BIGINT                                  NOT NULL,
@@ -45,7 +55,7 @@ CREATE TABLE IF NOT EXISTS bookings
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id           BIGINT                                  NOT NULL,
     text         VARCHAR(1024)                           NOT NULL,
     item_id      BIGINT                                  NOT NULL,
     author_id    BIGINT                                  NOT NULL,
@@ -54,3 +64,29 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT FK_COMMENTS_ON_AUTHOR FOREIGN KEY (author_id) REFERENCES users (id),
     CONSTRAINT FK_COMMENTS_ON_ITEM FOREIGN KEY (item_id) REFERENCES items (id)
 );
+
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created_date);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created_id ON requests (created_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+DROP INDEX IF EXISTS idx_bookings_booker_start;
+
+DROP INDEX IF EXISTS idx_bookings_item_start;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start_id ON bookings (booker_id, start_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_end ON bookings (booker_id, item_id, status, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start_end ON bookings (item_id, status, start_date, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_id ON bookings (item_id, start_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
@@ -0,0 +1,99 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.config.HibernateCacheConfig;
+import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.show_sql=false")
+@Import(HibernateCacheConfig.class)
+@Slf4j
+@Tag("benchmark")
+class InsertBatchingBenchmarkTest {
+    private static final int ROWS = 5000;
+    private static final int ROUNDS = 3;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = testEntityManager.persist(new User(null, "test owner", "testowner@mail.com"));
+        booker = testEntityManager.persist(new User(null, "test booker", "testbooker@mail.com"));
+        item = testEntityManager.persist(new Item(null, "Дрель", "Простая дрель", true, owner, null));
+        testEntityManager.flush();
+    }
+
+    @Test
+    void bookingInsertsAreBatched() {
+        LocalDateTime start = LocalDateTime.now();
+        compare("bookings", i -> new Booking(null, start.plusDays(i), start.plusDays(i + 1), item, booker,
+                Status.APPROVED));
+    }
+
+    @Test
+    void commentInsertsAreBatched() {
+        LocalDateTime created = LocalDateTime.now();
+        compare("comments", i -> new Comment(null, "Комментарий " + i, item, booker, created));
+    }
+
+    private void compare(String table, IntFunction<Object> entities) {
+        Session session = testEntityManager.getEntityManager().unwrap(Session.class);
+        int batchSize = session.getSessionFactory().getSessionFactoryOptions().getJdbcBatchSize();
+        Statistics statistics = session.getSessionFactory().getStatistics();
+        long unbatchedMillis = Long.MAX_VALUE;
+        long batchedMillis = Long.MAX_VALUE;
+        long unbatchedStatements = 0;
+        long batchedStatements = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            session.setJdbcBatchSize(1);
+            statistics.clear();
+            unbatchedMillis = Math.min(unbatchedMillis, insert(entities, batchSize));
+            unbatchedStatements = statistics.getPrepareStatementCount();
+            session.setJdbcBatchSize(null);
+            statistics.clear();
+            batchedMillis = Math.min(batchedMillis, insert(entities, batchSize));
+            batchedStatements = statistics.getPrepareStatementCount();
+        }
+
+        log.info("{} {}, batch size {}: unbatched {} ms ({} statements), " +
+                        "batched {} ms ({} statements)", ROWS, table, batchSize, unbatchedMillis,
+                unbatchedStatements, batchedMillis, batchedStatements);
+        assertTrue(batchSize > 1);
+        assertTrue(unbatchedStatements >= ROWS);
+        assertTrue(batchedStatements <= 2L * ROWS / batchSize + 2);
+    }
+
+    private long insert(IntFunction<Object> entities, int batchSize) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            testEntityManager.persist(entities.apply(i));
+            if ((i + 1) % batchSize == 0) {
+                testEntityManager.flush();
+                testEntityManager.clear();
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
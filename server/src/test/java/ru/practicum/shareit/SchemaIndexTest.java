@@ -0,0 +1,118 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+class SchemaIndexTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void dropForeignKeyIndexes() {
+        jdbcTemplate.execute("alter table requests drop constraint if exists fk_requests_on_requester");
+        jdbcTemplate.execute("alter table items drop constraint if exists fk_items_on_owner");
+        jdbcTemplate.execute("alter table items drop constraint if exists fk_items_on_request");
+        jdbcTemplate.execute("alter table bookings drop constraint if exists fk_bookings_on_booker");
+        jdbcTemplate.execute("alter table bookings drop constraint if exists fk_bookings_on_item");
+        jdbcTemplate.execute("alter table comments drop constraint if exists fk_comments_on_author");
+        jdbcTemplate.execute("alter table comments drop constraint if exists fk_comments_on_item");
+    }
+
+    @Test
+    void bookingsByBookerUseIndex() {
+        assertIndexExists("IDX_BOOKINGS_BOOKER_START_ID", "BOOKER_ID", "START_DATE", "ID");
+        assertIndexExists("IDX_BOOKINGS_BOOKER_STATUS_START", "BOOKER_ID", "STATUS", "START_DATE");
+        assertIndexExists("IDX_BOOKINGS_BOOKER_ITEM_STATUS_END", "BOOKER_ID", "ITEM_ID", "STATUS", "END_DATE");
+        assertUsesIndex("select * from bookings b where b.booker_id = 1 order by b.start_date desc", "IDX_BOOKINGS_BOOKER_START_ID");
+        assertUsesIndex("select * from bookings b where b.booker_id = 1 and b.end_date < now() " +
+                "order by b.start_date desc", "IDX_BOOKINGS_BOOKER_START_ID");
+        assertUsesIndex("select * from bookings b where b.booker_id = 1 and (b.start_date < now() " +
+                "or (b.start_date = now() and b.id < 10)) order by b.start_date desc, b.id desc limit 20", "IDX_BOOKINGS_BOOKER_START_ID");
+        assertUsesIndex("select * from bookings b where b.booker_id = 1 and b.status = 'WAITING' " +
+                "order by b.start_date desc", "IDX_BOOKINGS_BOOKER_STATUS_START");
+        assertUsesIndex("select * from bookings b where b.booker_id = 1 and b.item_id = 1 " +
+                "and b.status = 'APPROVED' and b.end_date < now()", "IDX_BOOKINGS_BOOKER_ITEM_STATUS_END");
+    }
+
+    @Test
+    void bookingsByItemUseIndex() {
+        assertIndexExists("IDX_BOOKINGS_ITEM_STATUS_START_END", "ITEM_ID", "STATUS", "START_DATE", "END_DATE");
+        assertIndexExists("IDX_BOOKINGS_ITEM_START_ID", "ITEM_ID", "START_DATE", "ID");
+        assertIndexExists("IDX_BOOKINGS_ITEM_END", "ITEM_ID", "END_DATE");
+        assertUsesIndex("select count(*) from bookings b where b.item_id = 1 and b.status = 'APPROVED' " +
+                "and b.start_date <= now() and b.end_date >= now()", "IDX_BOOKINGS_ITEM_STATUS_START_END");
+        assertUsesIndex("select b.id, b.booker_id from bookings b where b.item_id = 1 and b.start_date > now() " +
+                "order by b.start_date limit 1", "IDX_BOOKINGS_ITEM_START_ID");
+        assertUsesIndex("select b.id, b.booker_id from bookings b where b.item_id = 1 and b.end_date < now() " +
+                "order by b.end_date desc limit 1", "IDX_BOOKINGS_ITEM_END");
+    }
+
+    @Test
+    void bookingsByItemOwnerUseIndex() {
+        assertUsesIndex("select b.* from bookings b join items i on i.id = b.item_id where i.owner_id = 1 " +
+                "order by b.start_date desc", "IDX_ITEMS_OWNER");
+    }
+
+    @Test
+    void itemsUseIndex() {
+        assertIndexExists("IDX_ITEMS_OWNER", "OWNER_ID", "ID");
+        assertIndexExists("IDX_ITEMS_REQUEST", "REQUEST_ID");
+        assertUsesIndex("select * from items i where i.owner_id = 1", "IDX_ITEMS_OWNER");
+        assertUsesIndex("select * from items i where i.request_id = 1", "IDX_ITEMS_REQUEST");
+    }
+
+    @Test
+    void commentsUseIndex() {
+        assertIndexExists("IDX_COMMENTS_ITEM", "ITEM_ID");
+        assertUsesIndex("select * from comments c where c.item_id = 1", "IDX_COMMENTS_ITEM");
+    }
+
+    @Test
+    void requestsUseIndex() {
+        assertIndexExists("IDX_REQUESTS_REQUESTER_CREATED", "REQUESTER_ID", "CREATED_DATE");
+        assertUsesIndex("select * from requests r where r.requester_id = 1 order by r.created_date desc", "IDX_REQUESTS_REQUESTER_CREATED");
+        assertIndexExists("IDX_REQUESTS_CREATED_ID", "CREATED_DATE", "ID");
+    }
+
+    @Test
+    void supersededIndexesAreDropped() {
+        jdbcTemplate.execute("create index idx_bookings_booker_start on bookings (booker_id, start_date)");
+        jdbcTemplate.execute("create index idx_bookings_item_start on bookings (item_id, start_date)");
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        assertIndexExists("IDX_BOOKINGS_BOOKER_START");
+        assertIndexExists("IDX_BOOKINGS_ITEM_START");
+    }
+
+    private void assertIndexExists(String indexName, String... columns) {
+        List<String> indexColumns = jdbcTemplate.queryForList("select column_name " +
+                "from information_schema.index_columns " +
+                "where index_name = ? " +
+                "order by ordinal_position", String.class, indexName);
+        assertEquals(List.of(columns), indexColumns, String.format("Индекс %s описан некорректно.", indexName));
+    }
+
+    private void assertUsesIndex(String sql, String... indexNames) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+        assertNotNull(plan);
+        assertFalse(plan.contains("tableScan"), String.format("Запрос '%s' не использует индекс:%n%s", sql, plan));
+        for (String indexName : indexNames) {
+            assertTrue(plan.contains("PUBLIC." + indexName + ":"),
+                    String.format("Запрос '%s' не использует индекс %s:%n%s", sql, indexName, plan));
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.User;
 
 import java.nio.charset.StandardCharsets;
@@ -22,6 +23,7 @@ import java.util.List;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -51,17 +53,11 @@ class BookingControllerTest {
                         .param("size", "20"))
                 .andExpect(status().isOk())
                 .andExpect(content().json("[{\"id\": 1," +
-                        "\"item\": {\"id\": 1,\"name\": \"test item\"," +
-                        "\"description\": \"test description\",\"available\": true," +
-                        "\"owner\": {\"id\": 1,\"name\": \"test user1\",\"email\": \"testuser1@mail.com\"}," +
-                        "\"request\": null}," +
-                        "\"booker\": {\"id\": 2,\"name\": \"test user2\",\"email\": \"testuser2@mail.com\"}}, " +
+                        "\"item\": {\"id\": 1,\"name\": \"test item\"}," +
+                        "\"booker\": {\"id\": 2}}, " +
                         "{\"id\": 1," +
-                        "\"item\": {\"id\": 1,\"name\": \"test item\"," +
-                        "\"description\": \"test description\",\"available\": true," +
-                        "\"owner\": {\"id\": 1,\"name\": \"test user1\",\"email\": \"testuser1@mail.com\"}," +
-                        "\"request\": null}," +
-                        "\"booker\": {\"id\": 2,\"name\": \"test user2\",\"email\": \"testuser2@mail.com\"}}]"));
+                        "\"item\": {\"id\": 1,\"name\": \"test item\"}," +
+                        "\"booker\": {\"id\": 2}}]"));
         verify(bookingService, times(1)).getBookingsByUserId(bookerId, "ALL", 0, 20);
     }
 
@@ -83,21 +79,53 @@ class BookingControllerTest {
                         .param("size", "20"))
                 .andExpect(status().isOk())
                 .andExpect(content().json("[{\"id\": 1," +
-                        "\"item\": {\"id\": 1,\"name\": \"test item\"," +
-                        "\"description\": \"test description\",\"available\": true," +
-                        "\"owner\": {\"id\": 1,\"name\": \"test user1\",\"email\": \"testuser1@mail.com\"}," +
-                        "\"request\": null}," +
-                        "\"booker\": {\"id\": 2,\"name\": \"test user2\",\"email\": \"testuser2@mail.com\"}}, " +
+                        "\"item\": {\"id\": 1,\"name\": \"test item\"}," +
+                        "\"booker\": {\"id\": 2}}, " +
                         "{\"id\": 1," +
-                        "\"item\": {\"id\": 1,\"name\": \"test item\"," +
-                        "\"description\": \"test description\",\"available\": true," +
-                        "\"owner\": {\"id\": 1,\"name\": \"test user1\",\"email\": \"testuser1@mail.com\"}," +
-                        "\"request\": null}," +
-                        "\"booker\": {\"id\": 2,\"name\": \"test user2\",\"email\": \"testuser2@mail.com\"}}]"));
+                        "\"item\": {\"id\": 1,\"name\": \"test item\"}," +
+                        "\"booker\": {\"id\": 2}}]"));
         verify(bookingService, times(1))
                 .getBookingsByItemOwnerId(itemOwnerId, "ALL", 0, 20);
     }
 
+    @Test
+    void getBookingsByUserIdAfter() throws Exception {
+        Booking booking = getBooking();
+        Long bookerId = booking.getBooker().getId();
+        BookingDtoWithInfo bookingDtoWithInfo = BookingMapper.toBookingDtoWithInfo(booking);
+        String after = new Cursor(booking.getStart().plusDays(1), 2L).encode();
+        when(bookingService.getBookingsByUserIdAfter(bookerId, "ALL", after, 1))
+                .thenReturn(List.of(bookingDtoWithInfo));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .param("state", "ALL")
+                        .param("after", after)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", new Cursor(bookingDtoWithInfo.getStart(), bookingDtoWithInfo.getId()).encode()))
+                .andExpect(content().json("[{\"id\": 1}]"));
+        verify(bookingService, times(1)).getBookingsByUserIdAfter(bookerId, "ALL", after, 1);
+        verify(bookingService, never()).getBookingsByUserId(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getBookingsByItemOwnerIdAfter() throws Exception {
+        Booking booking = getBooking();
+        Long itemOwnerId = booking.getItem().getOwner().getId();
+        String after = new Cursor(booking.getStart().plusDays(1), 2L).encode();
+        when(bookingService.getBookingsByItemOwnerIdAfter(itemOwnerId, "ALL", after, 20))
+                .thenReturn(List.of(BookingMapper.toBookingDtoWithInfo(booking)));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", itemOwnerId)
+                        .param("after", after))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(content().json("[{\"id\": 1}]"));
+        verify(bookingService, times(1)).getBookingsByItemOwnerIdAfter(itemOwnerId, "ALL", after, 20);
+    }
+
     @Test
     void getBookingById() throws Exception {
         Booking booking = getBooking();
@@ -111,11 +139,8 @@ class BookingControllerTest {
                         .header("X-Sharer-User-Id", bookerId))
                 .andExpect(status().isOk())
                 .andExpect(content().json("{\"id\": 1," +
-                        "\"item\": {\"id\": 1,\"name\": \"test item\"," +
-                        "\"description\": \"test description\",\"available\": true," +
-                        "\"owner\": {\"id\": 1,\"name\": \"test user1\",\"email\": \"testuser1@mail.com\"}," +
-                        "\"request\": null}," +
-                        "\"booker\": {\"id\": 2,\"name\": \"test user2\",\"email\": \"testuser2@mail.com\"}}"));
+                        "\"item\": {\"id\": 1,\"name\": \"test item\"}," +
+                        "\"booker\": {\"id\": 2}}"));
         verify(bookingService, times(1)).getBookingById(bookingId, bookerId);
     }
 
@@ -137,11 +162,8 @@ class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().json("{\"id\": 1," +
-                        "\"item\": {\"id\": 1,\"name\": \"test item\"," +
-                        "\"description\": \"test description\",\"available\": true," +
-                        "\"owner\": {\"id\": 1,\"name\": \"test user1\",\"email\": \"testuser1@mail.com\"}," +
-                        "\"request\": null}," +
-                        "\"booker\": {\"id\": 2,\"name\": \"test user2\",\"email\": \"testuser2@mail.com\"}}"));
+                        "\"item\": {\"id\": 1,\"name\": \"test item\"}," +
+                        "\"booker\": {\"id\": 2}}"));
         verify(bookingService, times(1)).createBooking(bookingDto, bookerId);
     }
 
@@ -164,11 +186,8 @@ class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().json("{\"id\": 1," +
-                        "\"item\": {\"id\": 1,\"name\": \"test item\"," +
-                        "\"description\": \"test description\",\"available\": true," +
-                        "\"owner\": {\"id\": 1,\"name\": \"test user1\",\"email\": \"testuser1@mail.com\"}," +
-                        "\"request\": null}," +
-                        "\"booker\": {\"id\": 2,\"name\": \"test user2\",\"email\": \"testuser2@mail.com\"}," +
+                        "\"item\": {\"id\": 1,\"name\": \"test item\"}," +
+                        "\"booker\": {\"id\": 2}," +
                         "\"status\": \"APPROVED\"}"));
         verify(bookingService, times(1)).approveBooking(bookingId, itemOwnerId, true);
     }
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingPayloadTest {
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void leanPayloadIsSmallerThanEntityGraph() throws Exception {
+        List<Booking> bookings = getBookings(20);
+        List<BookingDtoWithInfo> leanBookings = bookings.stream()
+                .map(BookingMapper::toBookingDtoWithInfo)
+                .collect(Collectors.toList());
+        String entityPayload = mapper.writeValueAsString(bookings);
+        String leanPayload = mapper.writeValueAsString(leanBookings);
+
+        assertTrue(leanPayload.length() * 2 < entityPayload.length(),
+                String.format("lean = %d, entity graph = %d", leanPayload.length(), entityPayload.length()));
+        assertFalse(leanPayload.contains("email"));
+        assertFalse(leanPayload.contains("description"));
+        assertFalse(leanPayload.contains("requester"));
+    }
+
+    private List<Booking> getBookings(int count) {
+        User owner = new User(1L, "test user1", "testuser1@mail.com");
+        User requester = new User(3L, "test user3", "testuser3@mail.com");
+        User booker = new User(2L, "test user2", "testuser2@mail.com");
+        ItemRequest request = new ItemRequest(1L, "test request", requester, LocalDateTime.now());
+        List<Booking> bookings = new ArrayList<>();
+        for (long i = 1; i <= count; i++) {
+            Item item = new Item(i, "test item " + i, "test description " + i, true, owner, request);
+            bookings.add(new Booking(i, LocalDateTime.now().plusDays(i), LocalDateTime.now().plusDays(i + 1), item,
+                    booker, Status.APPROVED));
+        }
+        return bookings;
+    }
+}
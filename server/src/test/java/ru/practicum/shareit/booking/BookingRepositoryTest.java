@@ -1,21 +1,38 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingShortWithItemId;
+import ru.practicum.shareit.booking.dto.ItemShort;
+import ru.practicum.shareit.booking.dto.UserShort;
+import ru.practicum.shareit.config.HibernateCacheConfig;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(HibernateCacheConfig.class)
 class BookingRepositoryTest {
     @Autowired
     private UserRepository userRepository;
@@ -23,6 +40,10 @@ class BookingRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
     private User owner;
     private User booker;
     private Item item;
@@ -39,38 +60,70 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByBookerId() {
-        List<Booking> bookings = bookingRepository.findAllByBookerId(booker.getId(), Pageable.unpaged());
+    void findAllByBooker() {
+        List<BookingDtoWithInfo> bookings = bookingRepository.findAll(BookingQuery.page(BookingRole.BOOKER,
+                booker.getId(), State.ALL, LocalDateTime.now(), 0, 20));
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        assertSame(booking, bookings.get(0));
+        assertEquals(booking.getId(), bookings.get(0).getId());
     }
 
     @Test
-    void findAllByBookerIdAndStartAfter() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartAfter(booker.getId(), LocalDateTime.now(),
-                Pageable.unpaged());
+    void findAllByBookerInFutureState() {
+        List<BookingDtoWithInfo> bookings = bookingRepository.findAll(BookingQuery.page(BookingRole.BOOKER,
+                booker.getId(), State.FUTURE, LocalDateTime.now(), 0, 20));
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        assertSame(booking, bookings.get(0));
+        assertEquals(booking.getId(), bookings.get(0).getId());
         assertTrue(bookings.get(0).getStart().isAfter(LocalDateTime.now()));
     }
 
     @Test
-    void findAllByBookerIdAndEndBefore() {
+    void findAllByBookerInPastState() {
         booking.setStart(booking.getStart().minusWeeks(1));
         booking.setEnd(booking.getEnd().minusWeeks(1));
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndEndBefore(booker.getId(), LocalDateTime.now(),
-                Pageable.unpaged());
+        List<BookingDtoWithInfo> bookings = bookingRepository.findAll(BookingQuery.page(BookingRole.BOOKER,
+                booker.getId(), State.PAST, LocalDateTime.now(), 0, 20));
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        assertSame(booking, bookings.get(0));
+        assertEquals(booking.getId(), bookings.get(0).getId());
         assertTrue(bookings.get(0).getEnd().isBefore(LocalDateTime.now()));
     }
 
+    @Test
+    void findAllWithSingleStatement() {
+        User requester = userRepository.save(new User(null, "test user3", "testuser3@mail.com"));
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "test request", requester,
+                LocalDateTime.now()));
+        Item requestedItem = itemRepository.save(new Item(null, "requested item", "test description", true,
+                owner, request));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4),
+                requestedItem, booker, Status.WAITING));
+        Statistics statistics = getStatistics();
+        List<BookingDtoWithInfo> bookings = bookingRepository.findAll(BookingQuery.page(BookingRole.OWNER,
+                owner.getId(), State.ALL, LocalDateTime.now(), 0, 20));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, bookings.size());
+        assertEquals(new ItemShort(requestedItem.getId(), "requested item"), bookings.get(0).getItem());
+        assertEquals(new UserShort(booker.getId()), bookings.get(0).getBooker());
+        assertEquals(new ItemShort(item.getId(), "test item"), bookings.get(1).getItem());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findByIdWithEntityGraph() {
+        Statistics statistics = getStatistics();
+        Booking foundBooking = bookingRepository.findById(booking.getId()).orElseThrow();
+
+        assertFetched(foundBooking);
+        assertEquals("test user1", foundBooking.getItem().getOwner().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
     @Test
     void isNotAvailableForBooking() {
         boolean isNotAvailable1 = bookingRepository.isNotAvailableForBooking(item.getId(),
@@ -98,16 +151,102 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItemOwnerIdAndStartBeforeAndEndAfter() {
+    void findAllByItemOwnerInCurrentState() {
         booking.setStart(LocalDateTime.now());
         booking.setEnd(LocalDateTime.now().plusWeeks(1));
-        List<Booking> currentBookings = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfter(owner.getId(),
-                LocalDateTime.now().plusHours(1), LocalDateTime.now().plusDays(1), Pageable.unpaged());
-        List<Booking> futureBookings = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfter(owner.getId(),
-                LocalDateTime.now().plusWeeks(2), LocalDateTime.now().plusWeeks(3), Pageable.unpaged());
+        List<BookingDtoWithInfo> currentBookings = bookingRepository.findAll(BookingQuery.page(BookingRole.OWNER,
+                owner.getId(), State.CURRENT, LocalDateTime.now().plusHours(1), 0, 20));
+        List<BookingDtoWithInfo> futureBookings = bookingRepository.findAll(BookingQuery.page(BookingRole.OWNER,
+                owner.getId(), State.CURRENT, LocalDateTime.now().plusWeeks(2), 0, 20));
 
         assertEquals(1, currentBookings.size());
-        assertSame(booking, currentBookings.get(0));
+        assertEquals(booking.getId(), currentBookings.get(0).getId());
         assertEquals(0, futureBookings.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllAfterCursor() {
+        booking.setStart(booking.getStart().truncatedTo(ChronoUnit.SECONDS));
+        Booking sameStartBooking = bookingRepository.save(new Booking(null, booking.getStart(), booking.getEnd(), item,
+                booker, Status.WAITING));
+        Booking laterBooking = bookingRepository.save(new Booking(null, booking.getStart().plusDays(3),
+                booking.getEnd().plusDays(3), item, booker, Status.APPROVED));
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingDtoWithInfo> firstPage = bookingRepository.findAll(BookingQuery.page(BookingRole.BOOKER,
+                booker.getId(), State.ALL, now, 0, 2));
+        Cursor cursor = new Cursor(firstPage.get(1).getStart(), firstPage.get(1).getId());
+        List<BookingDtoWithInfo> secondPage = bookingRepository.findAll(BookingQuery.after(BookingRole.OWNER,
+                owner.getId(), State.ALL, now, cursor, 2));
+        List<BookingDtoWithInfo> offsetPage = bookingRepository.findAll(BookingQuery.page(BookingRole.OWNER,
+                owner.getId(), State.ALL, now, 1, 2));
+        List<BookingDtoWithInfo> waitingBookings = bookingRepository.findAll(BookingQuery.page(BookingRole.BOOKER,
+                booker.getId(), State.WAITING, now, 0, 2));
+
+        assertEquals(List.of(laterBooking.getId(), sameStartBooking.getId()), getIds(firstPage));
+        assertEquals(List.of(booking.getId()), getIds(secondPage));
+        assertEquals(List.of(sameStartBooking.getId(), booking.getId()), getIds(offsetPage));
+        assertEquals(List.of(sameStartBooking.getId()), getIds(waitingBookings));
+    }
+
+    @Test
+    void findLastBookingAndFindNextBooking() {
+        Booking pastBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(3),
+                LocalDateTime.now().minusDays(2), item, booker, Status.APPROVED));
+        Booking farBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusWeeks(2),
+                LocalDateTime.now().plusWeeks(3), item, booker, Status.APPROVED));
+        List<BookingShort> lastBookings = bookingRepository.findLastBooking(item.getId(), LocalDateTime.now(),
+                PageRequest.of(0, 1));
+        List<BookingShort> nextBookings = bookingRepository.findNextBooking(item.getId(), LocalDateTime.now(),
+                PageRequest.of(0, 1));
+
+        assertEquals(1, lastBookings.size());
+        assertEquals(new BookingShort(pastBooking.getId(), booker.getId()), lastBookings.get(0));
+        assertEquals(1, nextBookings.size());
+        assertEquals(new BookingShort(booking.getId(), booker.getId()), nextBookings.get(0));
+        assertNotEquals(farBooking.getId(), nextBookings.get(0).getId());
+    }
+
+    @Test
+    void findLastBookingsAndFindNextBookings() {
+        Item otherItem = itemRepository.save(new Item(null, "other item", "other description", true,
+                owner, null));
+        Booking pastBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(3),
+                LocalDateTime.now().minusDays(2), otherItem, booker, Status.APPROVED));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().minusWeeks(3),
+                LocalDateTime.now().minusWeeks(2), otherItem, booker, Status.APPROVED));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().plusWeeks(2),
+                LocalDateTime.now().plusWeeks(3), item, booker, Status.APPROVED));
+        List<BookingShortWithItemId> lastBookings = bookingRepository.findLastBookings(
+                List.of(item.getId(), otherItem.getId()), LocalDateTime.now());
+        List<BookingShortWithItemId> nextBookings = bookingRepository.findNextBookings(
+                List.of(item.getId(), otherItem.getId()), LocalDateTime.now());
+
+        assertEquals(1, lastBookings.size());
+        assertEquals(new BookingShortWithItemId(otherItem.getId(), pastBooking.getId(), booker.getId()),
+                lastBookings.get(0));
+        assertEquals(1, nextBookings.size());
+        assertEquals(new BookingShortWithItemId(item.getId(), booking.getId(), booker.getId()), nextBookings.get(0));
+    }
+
+    private Statistics getStatistics() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        Statistics statistics = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private List<Long> getIds(List<BookingDtoWithInfo> bookings) {
+        return bookings.stream()
+                .map(BookingDtoWithInfo::getId)
+                .collect(Collectors.toList());
+    }
+
+    private void assertFetched(Booking foundBooking) {
+        assertTrue(Hibernate.isInitialized(foundBooking.getItem()));
+        assertTrue(Hibernate.isInitialized(foundBooking.getItem().getOwner()));
+        assertTrue(Hibernate.isInitialized(foundBooking.getBooker()));
+    }
+}
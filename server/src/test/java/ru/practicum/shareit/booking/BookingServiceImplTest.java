@@ -2,9 +2,7 @@ package ru.practicum.shareit.booking;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.mockito.ArgumentCaptor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoWithInfo;
 import ru.practicum.shareit.exception.AccessDeniedException;
@@ -12,6 +10,7 @@ import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.WrongParameterException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
@@ -42,151 +41,61 @@ class BookingServiceImplTest {
     void getBookingsByUserId() {
         Booking booking = getBooking();
         Long bookerId = booking.getBooker().getId();
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
         when(userService.getUserById(bookerId))
                 .thenReturn(UserMapper.toUserDto(booking.getBooker()));
-        when(bookingRepository.findAllByBookerId(bookerId, pageable))
-                .thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findAll(any(BookingQuery.class)))
+                .thenReturn(Collections.singletonList(BookingMapper.toBookingDtoWithInfo(booking)));
         List<BookingDtoWithInfo> bookings = bookingService.getBookingsByUserId(bookerId, "ALL", 0, 20);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         assertEquals(1, bookings.get(0).getId());
         assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
+        assertEquals(2, bookings.get(0).getBooker().getId());
         assertEquals(Status.APPROVED, bookings.get(0).getStatus());
-        verify(bookingRepository, times(1)).findAllByBookerId(bookerId, pageable);
+        BookingQuery bookingQuery = captureBookingQuery();
+        assertEquals(BookingRole.BOOKER, bookingQuery.getRole());
+        assertEquals(bookerId, bookingQuery.getUserId());
+        assertEquals(State.ALL, bookingQuery.getState());
+        assertEquals(0, bookingQuery.getFrom());
+        assertEquals(20, bookingQuery.getSize());
+        assertNull(bookingQuery.getAfter());
     }
 
     @Test
-    void getBookingsByUserIdWithStateIsPast() {
+    void getBookingsByUserIdWithEveryState() {
         Booking booking = getBooking();
         Long bookerId = booking.getBooker().getId();
-        booking.setStart(booking.getStart().minusMonths(1));
-        booking.setEnd(booking.getEnd().minusMonths(1));
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
         when(userService.getUserById(bookerId))
                 .thenReturn(UserMapper.toUserDto(booking.getBooker()));
-        when(bookingRepository.findAllByBookerIdAndEndBefore(eq(bookerId), any(LocalDateTime.class), eq(pageable)))
-                .thenReturn(Collections.singletonList(booking));
-        List<BookingDtoWithInfo> bookings = bookingService.getBookingsByUserId(bookerId, "PAST", 0, 20);
-
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertEquals(1, bookings.get(0).getId());
-        assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
-        assertEquals(Status.APPROVED, bookings.get(0).getStatus());
-        assertTrue(bookings.get(0).getEnd().isBefore(LocalDateTime.now()));
-        verify(bookingRepository, times(1))
-                .findAllByBookerIdAndEndBefore(eq(bookerId), any(LocalDateTime.class), eq(pageable));
-    }
-
-    @Test
-    void getBookingsByUserIdWithStateIsCurrent() {
-        Booking booking = getBooking();
-        Long bookerId = booking.getBooker().getId();
-        booking.setStart(booking.getStart().minusMonths(1));
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
-        when(userService.getUserById(bookerId))
-                .thenReturn(UserMapper.toUserDto(booking.getBooker()));
-        when(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(eq(bookerId), any(LocalDateTime.class),
-                any(LocalDateTime.class), eq(pageable)))
-                .thenReturn(Collections.singletonList(booking));
-        List<BookingDtoWithInfo> bookings = bookingService.getBookingsByUserId(bookerId, "CURRENT", 0, 20);
-
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertEquals(1, bookings.get(0).getId());
-        assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
-        assertEquals(Status.APPROVED, bookings.get(0).getStatus());
-        assertTrue(bookings.get(0).getStart().isBefore(LocalDateTime.now()));
-        assertTrue(bookings.get(0).getEnd().isAfter(LocalDateTime.now()));
-        verify(bookingRepository, times(1)).findAllByBookerIdAndStartBeforeAndEndAfter(
-                eq(bookerId), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable));
-    }
-
-    @Test
-    void getBookingsByUserIdWithStateIsFuture() {
-        Booking booking = getBooking();
-        Long bookerId = booking.getBooker().getId();
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
-        when(userService.getUserById(bookerId))
-                .thenReturn(UserMapper.toUserDto(booking.getBooker()));
-        when(bookingRepository.findAllByBookerIdAndStartAfter(eq(bookerId), any(LocalDateTime.class), eq(pageable)))
-                .thenReturn(Collections.singletonList(booking));
-        List<BookingDtoWithInfo> bookings = bookingService.getBookingsByUserId(bookerId, "FUTURE", 0, 20);
-
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertEquals(1, bookings.get(0).getId());
-        assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
-        assertEquals(Status.APPROVED, bookings.get(0).getStatus());
-        assertTrue(bookings.get(0).getStart().isAfter(LocalDateTime.now()));
-        verify(bookingRepository, times(1))
-                .findAllByBookerIdAndStartAfter(eq(bookerId), any(LocalDateTime.class), eq(pageable));
-    }
-
-    @Test
-    void getBookingsByUserIdWithStateIsWaiting() {
-        Booking booking = getBooking();
-        Long bookerId = booking.getBooker().getId();
-        booking.setStatus(Status.WAITING);
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
-        when(userService.getUserById(bookerId))
-                .thenReturn(UserMapper.toUserDto(booking.getBooker()));
-        when(bookingRepository.findAllByBookerIdAndStatus(bookerId, Status.WAITING, pageable))
-                .thenReturn(Collections.singletonList(booking));
-        List<BookingDtoWithInfo> bookings = bookingService.getBookingsByUserId(bookerId, "WAITING", 0, 20);
-
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertEquals(1, bookings.get(0).getId());
-        assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
-        assertEquals(Status.WAITING, bookings.get(0).getStatus());
-        verify(bookingRepository, times(1))
-                .findAllByBookerIdAndStatus(bookerId, Status.WAITING, pageable);
-    }
-
-    @Test
-    void getBookingsByUserIdWithStateIsRejected() {
-        Booking booking = getBooking();
-        Long bookerId = booking.getBooker().getId();
-        booking.setStatus(Status.REJECTED);
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
-        when(userService.getUserById(bookerId))
-                .thenReturn(UserMapper.toUserDto(booking.getBooker()));
-        when(bookingRepository.findAllByBookerIdAndStatus(bookerId, Status.REJECTED, pageable))
-                .thenReturn(Collections.singletonList(booking));
-        List<BookingDtoWithInfo> bookings = bookingService.getBookingsByUserId(bookerId, "REJECTED", 0, 20);
-
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertEquals(1, bookings.get(0).getId());
-        assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
-        assertEquals(Status.REJECTED, bookings.get(0).getStatus());
-        verify(bookingRepository, times(1))
-                .findAllByBookerIdAndStatus(bookerId, Status.REJECTED, pageable);
+        when(bookingRepository.findAll(any(BookingQuery.class)))
+                .thenReturn(Collections.singletonList(BookingMapper.toBookingDtoWithInfo(booking)));
+
+        for (State state : State.values()) {
+            clearInvocations(bookingRepository);
+            List<BookingDtoWithInfo> bookings = bookingService.getBookingsByUserId(bookerId, state.name(), 5, 10);
+
+            assertEquals(1, bookings.size());
+            BookingQuery bookingQuery = captureBookingQuery();
+            assertEquals(state, bookingQuery.getState());
+            assertEquals(5, bookingQuery.getFrom());
+            assertEquals(10, bookingQuery.getSize());
+            assertNotNull(bookingQuery.getNow());
+        }
     }
 
     @Test
     void getBookingsByUserIdWithUnknownState() {
         Booking booking = getBooking();
         Long bookerId = booking.getBooker().getId();
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
         when(userService.getUserById(bookerId))
                 .thenReturn(UserMapper.toUserDto(booking.getBooker()));
-        when(bookingRepository.findAllByBookerIdAndStatus(eq(bookerId), any(Status.class), eq(pageable)))
-                .thenReturn(Collections.singletonList(booking));
 
         Throwable throwable = assertThrows(WrongParameterException.class,
                 () -> bookingService.getBookingsByUserId(bookerId, "UNKNOWN", 0, 20));
         assertNotNull(throwable);
         assertEquals("Unknown state: UNKNOWN", throwable.getMessage());
+        verify(bookingRepository, never()).findAll(any(BookingQuery.class));
     }
 
     @Test
@@ -194,175 +103,147 @@ class BookingServiceImplTest {
         Booking booking = getBooking();
         User itemOwner = booking.getItem().getOwner();
         Long itemOwnerId = itemOwner.getId();
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
         when(userService.getUserById(itemOwnerId))
                 .thenReturn(UserMapper.toUserDto(itemOwner));
-        when(bookingRepository.findAllByItemOwnerId(itemOwnerId, pageable))
-                .thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findAll(any(BookingQuery.class)))
+                .thenReturn(Collections.singletonList(BookingMapper.toBookingDtoWithInfo(booking)));
         List<BookingDtoWithInfo> bookings = bookingService
-                .getBookingsByItemOwnerId(itemOwnerId, "ALL", 0, 20);
+                .getBookingsByItemOwnerId(itemOwnerId, "PAST", 0, 20);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         assertEquals(1, bookings.get(0).getId());
         assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
+        assertEquals(2, bookings.get(0).getBooker().getId());
         assertEquals(Status.APPROVED, bookings.get(0).getStatus());
-        verify(bookingRepository, times(2)).findAllByItemOwnerId(itemOwnerId, pageable);
+        BookingQuery bookingQuery = captureBookingQuery();
+        assertEquals(BookingRole.OWNER, bookingQuery.getRole());
+        assertEquals(itemOwnerId, bookingQuery.getUserId());
+        assertEquals(State.PAST, bookingQuery.getState());
+        verify(bookingRepository, never()).existsByItemOwnerId(anyLong());
     }
 
     @Test
-    void getBookingsByItemOwnerIdWithStateIsPast() {
+    void getBookingsByItemOwnerIdWithSingleQuery() {
         Booking booking = getBooking();
         User itemOwner = booking.getItem().getOwner();
         Long itemOwnerId = itemOwner.getId();
-        booking.setStart(booking.getStart().minusMonths(1));
-        booking.setEnd(booking.getEnd().minusMonths(1));
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
         when(userService.getUserById(itemOwnerId))
                 .thenReturn(UserMapper.toUserDto(itemOwner));
-        when(bookingRepository.findAllByItemOwnerId(itemOwnerId, pageable))
-                .thenReturn(Collections.singletonList(booking));
-        when(bookingRepository.findAllByItemOwnerIdAndEndBefore(eq(itemOwnerId), any(LocalDateTime.class), eq(pageable)))
-                .thenReturn(Collections.singletonList(booking));
-        List<BookingDtoWithInfo> bookings = bookingService
-                .getBookingsByItemOwnerId(itemOwnerId, "PAST", 0, 20);
+        when(bookingRepository.findAll(any(BookingQuery.class)))
+                .thenReturn(Collections.singletonList(BookingMapper.toBookingDtoWithInfo(booking)));
 
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertEquals(1, bookings.get(0).getId());
-        assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
-        assertEquals(Status.APPROVED, bookings.get(0).getStatus());
-        assertTrue(bookings.get(0).getEnd().isBefore(LocalDateTime.now()));
-        verify(bookingRepository, times(1))
-                .findAllByItemOwnerIdAndEndBefore(eq(itemOwnerId), any(LocalDateTime.class), eq(pageable));
+        for (State state : State.values()) {
+            clearInvocations(bookingRepository);
+            bookingService.getBookingsByItemOwnerId(itemOwnerId, state.name(), 0, 20);
+
+            assertEquals(1, mockingDetails(bookingRepository).getInvocations().size());
+        }
     }
 
     @Test
-    void getBookingsByItemOwnerIdWithStateIsCurrent() {
-        Booking booking = getBooking();
-        User itemOwner = booking.getItem().getOwner();
+    void getBookingsByItemOwnerIdWithEmptyPage() {
+        User itemOwner = getBooking().getItem().getOwner();
         Long itemOwnerId = itemOwner.getId();
-        booking.setStart(booking.getStart().minusMonths(1));
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
         when(userService.getUserById(itemOwnerId))
                 .thenReturn(UserMapper.toUserDto(itemOwner));
-        when(bookingRepository.findAllByItemOwnerId(itemOwnerId, pageable))
-                .thenReturn(Collections.singletonList(booking));
-        when(bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfter(eq(itemOwnerId), any(LocalDateTime.class),
-                any(LocalDateTime.class), eq(pageable)))
-                .thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findAll(any(BookingQuery.class)))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.existsByItemOwnerId(itemOwnerId))
+                .thenReturn(true);
         List<BookingDtoWithInfo> bookings = bookingService
-                .getBookingsByItemOwnerId(itemOwnerId, "CURRENT", 0, 20);
+                .getBookingsByItemOwnerId(itemOwnerId, "REJECTED", 0, 20);
 
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertEquals(1, bookings.get(0).getId());
-        assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
-        assertEquals(Status.APPROVED, bookings.get(0).getStatus());
-        assertTrue(bookings.get(0).getStart().isBefore(LocalDateTime.now()));
-        assertTrue(bookings.get(0).getEnd().isAfter(LocalDateTime.now()));
-        verify(bookingRepository, times(1)).findAllByItemOwnerIdAndStartBeforeAndEndAfter(
-                eq(itemOwnerId), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable));
+        assertTrue(bookings.isEmpty());
+        assertEquals(2, mockingDetails(bookingRepository).getInvocations().size());
     }
 
     @Test
-    void getBookingsByItemOwnerIdWithStateIsFuture() {
-        Booking booking = getBooking();
-        User itemOwner = booking.getItem().getOwner();
+    void getBookingsByItemOwnerIdWithoutBookings() {
+        User itemOwner = getBooking().getItem().getOwner();
         Long itemOwnerId = itemOwner.getId();
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
         when(userService.getUserById(itemOwnerId))
                 .thenReturn(UserMapper.toUserDto(itemOwner));
-        when(bookingRepository.findAllByItemOwnerId(itemOwnerId, pageable))
-                .thenReturn(Collections.singletonList(booking));
-        when(bookingRepository.findAllByItemOwnerIdAndStartAfter(eq(itemOwnerId), any(LocalDateTime.class), eq(pageable)))
-                .thenReturn(Collections.singletonList(booking));
-        List<BookingDtoWithInfo> bookings = bookingService
-                .getBookingsByItemOwnerId(itemOwnerId, "FUTURE", 0, 20);
+        when(bookingRepository.findAll(any(BookingQuery.class)))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.existsByItemOwnerId(itemOwnerId))
+                .thenReturn(false);
 
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertEquals(1, bookings.get(0).getId());
-        assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
-        assertEquals(Status.APPROVED, bookings.get(0).getStatus());
-        assertTrue(bookings.get(0).getStart().isAfter(LocalDateTime.now()));
-        verify(bookingRepository, times(1)).findAllByItemOwnerIdAndStartAfter(
-                eq(itemOwnerId), any(LocalDateTime.class), eq(pageable));
+        Throwable throwable = assertThrows(ObjectNotFoundException.class,
+                () -> bookingService.getBookingsByItemOwnerId(itemOwnerId, "ALL", 0, 20));
+        assertEquals("У пользователя с ID = 1 нет забронированных вещей.", throwable.getMessage());
     }
 
     @Test
-    void getBookingsByItemOwnerIdWithStateIsWaiting() {
+    void getBookingsByItemOwnerIdWithUnknownState() {
         Booking booking = getBooking();
         User itemOwner = booking.getItem().getOwner();
         Long itemOwnerId = itemOwner.getId();
-        booking.setStatus(Status.WAITING);
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
         when(userService.getUserById(itemOwnerId))
                 .thenReturn(UserMapper.toUserDto(itemOwner));
-        when(bookingRepository.findAllByItemOwnerId(itemOwnerId, pageable))
-                .thenReturn(Collections.singletonList(booking));
-        when(bookingRepository.findAllByItemOwnerIdAndStatus(itemOwnerId, Status.WAITING, pageable))
-                .thenReturn(Collections.singletonList(booking));
-        List<BookingDtoWithInfo> bookings = bookingService
-                .getBookingsByItemOwnerId(itemOwnerId, "WAITING", 0, 20);
+
+        Throwable throwable = assertThrows(WrongParameterException.class,
+                () -> bookingService.getBookingsByItemOwnerId(itemOwnerId, "UNKNOWN", 0, 20));
+        assertNotNull(throwable);
+        assertEquals("Unknown state: UNKNOWN", throwable.getMessage());
+    }
+
+    @Test
+    void getBookingsByUserIdAfter() {
+        Booking booking = getBooking();
+        Long bookerId = booking.getBooker().getId();
+        Cursor cursor = new Cursor(booking.getStart().plusDays(1), 5L);
+        when(userService.getUserById(bookerId))
+                .thenReturn(UserMapper.toUserDto(booking.getBooker()));
+        when(bookingRepository.findAll(any(BookingQuery.class)))
+                .thenReturn(Collections.singletonList(BookingMapper.toBookingDtoWithInfo(booking)));
+        List<BookingDtoWithInfo> bookings = bookingService.getBookingsByUserIdAfter(bookerId, "FUTURE",
+                cursor.encode(), 20);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         assertEquals(1, bookings.get(0).getId());
-        assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
-        assertEquals(Status.WAITING, bookings.get(0).getStatus());
-        verify(bookingRepository, times(1))
-                .findAllByItemOwnerIdAndStatus(itemOwnerId, Status.WAITING, pageable);
+        BookingQuery bookingQuery = captureBookingQuery();
+        assertEquals(BookingRole.BOOKER, bookingQuery.getRole());
+        assertEquals(State.FUTURE, bookingQuery.getState());
+        assertEquals(cursor, bookingQuery.getAfter());
+        assertEquals(20, bookingQuery.getSize());
     }
 
     @Test
-    void getBookingsByItemOwnerIdWithStateIsRejected() {
+    void getBookingsByItemOwnerIdAfter() {
         Booking booking = getBooking();
         User itemOwner = booking.getItem().getOwner();
         Long itemOwnerId = itemOwner.getId();
-        booking.setStatus(Status.REJECTED);
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
+        Cursor cursor = new Cursor(booking.getStart().plusDays(1), 5L);
         when(userService.getUserById(itemOwnerId))
                 .thenReturn(UserMapper.toUserDto(itemOwner));
-        when(bookingRepository.findAllByItemOwnerId(itemOwnerId, pageable))
-                .thenReturn(Collections.singletonList(booking));
-        when(bookingRepository.findAllByItemOwnerIdAndStatus(itemOwnerId, Status.REJECTED, pageable))
-                .thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findAll(any(BookingQuery.class)))
+                .thenReturn(Collections.singletonList(BookingMapper.toBookingDtoWithInfo(booking)));
         List<BookingDtoWithInfo> bookings = bookingService
-                .getBookingsByItemOwnerId(itemOwnerId, "REJECTED", 0, 20);
+                .getBookingsByItemOwnerIdAfter(itemOwnerId, "ALL", cursor.encode(), 20);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         assertEquals(1, bookings.get(0).getId());
-        assertEquals("test item", bookings.get(0).getItem().getName());
-        assertEquals("test user2", bookings.get(0).getBooker().getName());
-        assertEquals(Status.REJECTED, bookings.get(0).getStatus());
-        verify(bookingRepository, times(1))
-                .findAllByItemOwnerIdAndStatus(itemOwnerId, Status.REJECTED, pageable);
+        BookingQuery bookingQuery = captureBookingQuery();
+        assertEquals(BookingRole.OWNER, bookingQuery.getRole());
+        assertEquals(cursor, bookingQuery.getAfter());
     }
 
     @Test
-    void getBookingsByItemOwnerIdWithUnknownState() {
+    void getBookingsByUserIdAfterWithWrongCursor() {
         Booking booking = getBooking();
-        User itemOwner = booking.getItem().getOwner();
-        Long itemOwnerId = itemOwner.getId();
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("start").descending());
-        when(userService.getUserById(itemOwnerId))
-                .thenReturn(UserMapper.toUserDto(itemOwner));
-        when(bookingRepository.findAllByItemOwnerId(itemOwnerId, pageable))
-                .thenReturn(Collections.singletonList(booking));
-        when(bookingRepository.findAllByItemOwnerIdAndStatus(eq(itemOwnerId), any(Status.class), eq(pageable)))
-                .thenReturn(Collections.singletonList(booking));
+        Long bookerId = booking.getBooker().getId();
+        when(userService.getUserById(bookerId))
+                .thenReturn(UserMapper.toUserDto(booking.getBooker()));
 
         Throwable throwable = assertThrows(WrongParameterException.class,
-                () -> bookingService.getBookingsByItemOwnerId(itemOwnerId, "UNKNOWN", 0, 20));
-        assertNotNull(throwable);
-        assertEquals("Unknown state: UNKNOWN", throwable.getMessage());
+                () -> bookingService.getBookingsByUserIdAfter(bookerId, "ALL", "wrong", 20));
+        assertEquals("Некорректный курсор: wrong", throwable.getMessage());
+        assertThrows(WrongParameterException.class,
+                () -> bookingService.getBookingsByUserIdAfter(bookerId, "UNKNOWN",
+                        new Cursor(booking.getStart(), 1L).encode(), 20));
     }
 
     @Test
@@ -386,7 +267,7 @@ class BookingServiceImplTest {
         assertNotNull(bookingDtoWithInfo);
         assertEquals(1, bookingDtoWithInfo.getId());
         assertEquals("test item", bookingDtoWithInfo.getItem().getName());
-        assertEquals("test user2", bookingDtoWithInfo.getBooker().getName());
+        assertEquals(2, bookingDtoWithInfo.getBooker().getId());
         assertEquals(Status.APPROVED, bookingDtoWithInfo.getStatus());
         verify(bookingRepository, times(1)).findById(bookingId);
     }
@@ -446,10 +327,18 @@ class BookingServiceImplTest {
         BookingDtoWithInfo bookingDtoWithInfo = bookingService.approveBooking(bookingId, itemOwnerId, true);
 
         assertNotNull(bookingDtoWithInfo);
-        assertEquals(booking.getStatus(), bookingDtoWithInfo.getStatus());
+        assertEquals(Status.APPROVED, bookingDtoWithInfo.getStatus());
+        assertEquals(Status.APPROVED, booking.getStatus());
+        verify(bookingRepository, times(1)).save(booking);
         verify(bookingRepository, times(1)).save(any(Booking.class));
     }
 
+    private BookingQuery captureBookingQuery() {
+        ArgumentCaptor<BookingQuery> captor = ArgumentCaptor.forClass(BookingQuery.class);
+        verify(bookingRepository, times(1)).findAll(captor.capture());
+        return captor.getValue();
+    }
+
     private Booking getBooking() {
         User owner = new User(1L, "test user1", "testuser1@mail.com");
         Item item = new Item(1L, "test item", "test description", true, owner, null);
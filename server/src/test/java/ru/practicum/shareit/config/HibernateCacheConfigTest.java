@@ -0,0 +1,100 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HibernateCacheConfigTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager hibernateCacheManager;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void regionsAreConfiguredFromProperties() {
+        CaffeineConfiguration<?, ?> configuration = hibernateCacheManager.getCache("users")
+                .getConfiguration(CaffeineConfiguration.class);
+
+        assertEquals(OptionalLong.of(10000), configuration.getMaximumSize());
+        assertNotNull(hibernateCacheManager.getCache("items"));
+        assertNotNull(hibernateCacheManager.getCache("requests"));
+    }
+
+    @Test
+    void findByIdIsServedFromSecondLevelCache() {
+        User owner = userRepository.save(new User(null, "test user", "testuser@mail.com"));
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "test request", owner,
+                LocalDateTime.now()));
+        Item item = itemRepository.save(new Item(null, "test item", "test description", true, owner, request));
+        statistics.clear();
+        userRepository.findById(owner.getId());
+        itemRequestRepository.findById(request.getId());
+        long statementCount = statistics.getPrepareStatementCount();
+        userRepository.findById(owner.getId());
+        itemRequestRepository.findById(request.getId());
+        itemRepository.findById(item.getId());
+        itemRepository.findById(item.getId());
+
+        assertTrue(statistics.getDomainDataRegionStatistics("users").getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics("requests").getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics("items").getHitCount() > 0);
+        assertEquals(statementCount, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllByRequestIdUsesQueryCache() {
+        User owner = userRepository.save(new User(null, "test user", "testuser@mail.com"));
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "test request", owner,
+                LocalDateTime.now()));
+        itemRepository.save(new Item(null, "test item", "test description", true, owner, request));
+        statistics.clear();
+        itemRepository.findAllByRequestId(request.getId());
+        itemRepository.findAllByRequestId(request.getId());
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InMemoryItemSearchIndexTest {
+    private InMemoryItemSearchIndex itemSearchIndex;
+    private ItemRepository itemRepository;
+    private List<Item> items;
+
+    @BeforeEach
+    void initialize() {
+        User owner = new User(1L, "test user", "testuser@mail.com");
+        items = new ArrayList<>();
+        items.add(new Item(1L, "Дрель", "Простая дрель", true, owner, null));
+        items.add(new Item(2L, "Отвёртка", "Аккумуляторная дрель-отвёртка", true, owner, null));
+        items.add(new Item(3L, "Молоток", "Обычный молоток", true, owner, null));
+        items.add(new Item(4L, "Дрель", "Старая дрель", false, owner, null));
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(items));
+        when(itemRepository.findAllById(anyIterable()))
+                .thenAnswer(invocation -> {
+                    List<Long> ids = new ArrayList<>();
+                    invocation.<Iterable<Long>>getArgument(0).forEach(ids::add);
+                    return items.stream()
+                            .filter(item -> ids.contains(item.getId()))
+                            .collect(Collectors.toList());
+                });
+        itemSearchIndex = new InMemoryItemSearchIndex(itemRepository);
+        itemSearchIndex.build();
+    }
+
+    @Test
+    void search() {
+        List<Item> foundItems = itemSearchIndex.search("ДРЕЛЬ", 0, 20);
+
+        assertEquals(List.of(items.get(0), items.get(1)), foundItems);
+        assertEquals(List.of(items.get(1)), itemSearchIndex.search("аккумуляторная дрель", 0, 20));
+        assertTrue(itemSearchIndex.search("аккумулятор дрель", 0, 20).isEmpty());
+        assertEquals(List.of(items.get(1)), itemSearchIndex.search("дрель", 1, 1));
+        assertTrue(itemSearchIndex.search("пила", 0, 20).isEmpty());
+        assertTrue(itemSearchIndex.search("дрель", 5, 20).isEmpty());
+    }
+
+    @Test
+    void searchMatchesWholeSubstringLikeRepository() {
+        assertEquals(List.of(items.get(1)), itemSearchIndex.search("ная дре", 0, 20));
+        assertEquals(List.of(items.get(1)), itemSearchIndex.search("ЛЬ-ОТ", 0, 20));
+        assertEquals(List.of(items.get(0), items.get(1), items.get(2)), itemSearchIndex.search("о", 0, 20));
+        assertEquals(List.of(items.get(2)), itemSearchIndex.search("ток", 0, 20));
+        assertTrue(itemSearchIndex.search("дрель молоток", 0, 20).isEmpty());
+    }
+
+    @Test
+    void searchWithoutWordsDelegatesToRepository() {
+        when(itemRepository.searchAvailable(eq("-"), any(Pageable.class)))
+                .thenReturn(List.of(items.get(1)));
+
+        assertEquals(List.of(items.get(1)), itemSearchIndex.search("-", 0, 20));
+        assertTrue(itemSearchIndex.searchAfter("%", 0, 20).isEmpty());
+        verify(itemRepository).searchAvailable("-", PageRequest.of(0, 20));
+        verify(itemRepository).searchAvailableAfter("%", 0, PageRequest.of(0, 20));
+    }
+
+    @Test
+    void searchChecksCandidatesAgainstRepository() {
+        items.get(0).setName("Перфоратор");
+        items.get(0).setDescription("Мощный перфоратор");
+
+        assertEquals(List.of(items.get(1)), itemSearchIndex.search("дрель", 0, 20));
+        items.get(1).setAvailable(false);
+        assertTrue(itemSearchIndex.search("дрель", 0, 20).isEmpty());
+    }
+
+    @Test
+    void searchAfter() {
+        assertEquals(List.of(items.get(0)), itemSearchIndex.searchAfter("дрель", 0, 1));
+        assertEquals(List.of(items.get(1)), itemSearchIndex.searchAfter("дрель", 1, 1));
+        assertTrue(itemSearchIndex.searchAfter("дрель", 2, 20).isEmpty());
+        verify(itemRepository).findAllById(List.of(2L));
+    }
+
+    @Test
+    void indexAndRemove() {
+        Item item = items.get(2);
+        itemSearchIndex.remove(item);
+        item.setName("Кувалда");
+        itemSearchIndex.index(item);
+
+        assertTrue(itemSearchIndex.search("молоток", 0, 20).contains(item));
+        assertEquals(List.of(item), itemSearchIndex.search("кувалда", 0, 20));
+
+        itemSearchIndex.remove(item);
+        item.setAvailable(false);
+        itemSearchIndex.index(item);
+
+        assertTrue(itemSearchIndex.search("кувалда", 0, 20).isEmpty());
+    }
+}
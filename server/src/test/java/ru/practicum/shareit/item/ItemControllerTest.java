@@ -10,6 +10,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithInfo;
 import ru.practicum.shareit.request.ItemRequest;
@@ -96,6 +97,29 @@ class ItemControllerTest {
         verify(itemService, times(1)).createItem(itemDto, userId);
     }
 
+    @Test
+    void createItems() throws Exception {
+        Item item = getItem();
+        Long userId = item.getOwner().getId();
+        ItemDto itemDto = ItemMapper.toItemDto(item);
+        ItemDto wrongItemDto = new ItemDto(null, "test item", null, true, null);
+        List<ItemDto> itemDtos = List.of(itemDto, wrongItemDto);
+        when(itemService.createItems(itemDtos, userId))
+                .thenReturn(List.of(new ItemBulkResult(0, itemDto, null),
+                        new ItemBulkResult(1, null, "Не указано описание вещи.")));
+
+        mockMvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(mapper.writeValueAsString(itemDtos))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"index\": 0,\"item\": {\"id\": 1,\"name\": \"test item\"}}," +
+                        "{\"index\": 1,\"error\": \"Не указано описание вещи.\"}]"));
+        verify(itemService, times(1)).createItems(itemDtos, userId);
+    }
+
     @Test
     void updateItem() throws Exception {
         Item item = getItem();
@@ -138,6 +162,26 @@ class ItemControllerTest {
         verify(itemService, times(1)).searchItemsByText(text, 0, 20);
     }
 
+    @Test
+    void searchItemsByTextAfter() throws Exception {
+        Item item = getItem();
+        String text = item.getDescription().substring(5, 10);
+        List<ItemDto> items = new ArrayList<>();
+        items.add(ItemMapper.toItemDto(item));
+        when(itemService.searchItemsByTextAfter(text, 0, 20))
+                .thenReturn(items);
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", text)
+                        .param("after", "0")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\": 1,\"name\": \"test item\"," +
+                        "\"description\": \"test description\",\"available\": true,\"requestId\": 1}]"));
+        verify(itemService, times(1)).searchItemsByTextAfter(text, 0, 20);
+        verify(itemService, never()).searchItemsByText(anyString(), anyInt(), anyInt());
+    }
+
     @Test
     void createComment() throws Exception {
         mapper.registerModule(new JavaTimeModule());
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.config.HibernateCacheConfig;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+class ItemRepositoryTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "test user", "testuser@mail.com"));
+    }
+
+    @Test
+    void searchAvailable() {
+        Item unavailableItem = itemRepository.save(new Item(null, "Дрель", "Старая дрель", false, owner, null));
+        Item firstItem = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, null));
+        Item secondItem = itemRepository.save(new Item(null, "Отвёртка", "Аккумуляторная ДРЕЛЬ-отвёртка", true,
+                owner, null));
+        itemRepository.save(new Item(null, "Молоток", "Обычный молоток", true, owner, null));
+        List<Item> firstPage = itemRepository.searchAvailable("дрЕль", PageRequest.of(0, 1));
+        List<Item> secondPage = itemRepository.searchAvailable("дрЕль", PageRequest.of(1, 1));
+
+        assertEquals(List.of(firstItem), firstPage);
+        assertEquals(List.of(secondItem), secondPage);
+        assertFalse(firstPage.contains(unavailableItem));
+        assertFalse(secondPage.contains(unavailableItem));
+    }
+
+    @Test
+    void searchAvailableAfter() {
+        Item firstItem = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, null));
+        itemRepository.save(new Item(null, "Дрель", "Старая дрель", false, owner, null));
+        Item secondItem = itemRepository.save(new Item(null, "Отвёртка", "Аккумуляторная ДРЕЛЬ-отвёртка", true,
+                owner, null));
+        List<Item> firstPage = itemRepository.searchAvailableAfter("дрель", 0, PageRequest.of(0, 1));
+        List<Item> secondPage = itemRepository.searchAvailableAfter("дрель", firstItem.getId(), PageRequest.of(0, 1));
+        List<Item> lastPage = itemRepository.searchAvailableAfter("дрель", secondItem.getId(), PageRequest.of(0, 1));
+
+        assertEquals(List.of(firstItem), firstPage);
+        assertEquals(List.of(secondItem), secondPage);
+        assertTrue(lastPage.isEmpty());
+    }
+
+    @Test
+    void searchAvailableTreatsWildcardsLiterally() {
+        Item percentItem = itemRepository.save(new Item(null, "Скидка 50%", "Простая дрель", true, owner, null));
+        Item underscoreItem = itemRepository.save(new Item(null, "Дрель", "Артикул drill_01", true, owner, null));
+        itemRepository.save(new Item(null, "Доска 50 см", "Обычная доска", true, owner, null));
+        itemRepository.save(new Item(null, "Молоток", "Артикул drill-01", true, owner, null));
+
+        assertEquals(List.of(percentItem), itemRepository.searchAvailable("50%", PageRequest.of(0, 10)));
+        assertEquals(List.of(underscoreItem), itemRepository.searchAvailable("_", PageRequest.of(0, 10)));
+        assertEquals(List.of(underscoreItem), itemRepository.searchAvailableAfter("drill_", 0, PageRequest.of(0, 10)));
+        assertTrue(itemRepository.searchAvailableAfter("50%", percentItem.getId(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void findByIdDoesNotJoinOwnerAndRequest() {
+        User requester = userRepository.save(new User(null, "test requester", "testrequester@mail.com"));
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "Нужна дрель", requester,
+                LocalDateTime.now()));
+        Item item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, request));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        Item foundItem = itemRepository.findById(item.getId()).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(foundItem.getOwner()));
+        assertFalse(Hibernate.isInitialized(foundItem.getRequest()));
+        assertEquals(owner.getId(), foundItem.getOwner().getId());
+        assertEquals(request.getId(), foundItem.getRequest().getId());
+    }
+
+    @Test
+    void findAllByRequestIdIn() {
+        User requester = userRepository.save(new User(null, "test requester", "testrequester@mail.com"));
+        ItemRequest firstRequest = itemRequestRepository.save(new ItemRequest(null, "Нужна дрель", requester,
+                LocalDateTime.now()));
+        ItemRequest secondRequest = itemRequestRepository.save(new ItemRequest(null, "Нужен молоток", requester,
+                LocalDateTime.now()));
+        ItemRequest otherRequest = itemRequestRepository.save(new ItemRequest(null, "Нужна пила", requester,
+                LocalDateTime.now()));
+        Item firstItem = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, firstRequest));
+        Item secondItem = itemRepository.save(new Item(null, "Молоток", "Обычный молоток", true, owner,
+                secondRequest));
+        itemRepository.save(new Item(null, "Пила", "Ручная пила", true, owner, otherRequest));
+        itemRepository.save(new Item(null, "Отвёртка", "Простая отвёртка", true, owner, null));
+        List<Item> items = itemRepository.findAllByRequestIdIn(List.of(firstRequest.getId(), secondRequest.getId()));
+
+        assertEquals(2, items.size());
+        assertTrue(items.containsAll(List.of(firstItem, secondItem)));
+    }
+
+    @Test
+    void insertAll() {
+        User requester = userRepository.save(new User(null, "test requester", "testrequester@mail.com"));
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "Нужна дрель", requester,
+                LocalDateTime.now()));
+        testEntityManager.flush();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            items.add(new Item(null, "Дрель " + i, "Простая дрель", true, owner, i % 2 == 0 ? request : null));
+        }
+        itemRepository.insertAll(items);
+
+        assertTrue(testEntityManager.getEntityManager().contains(request));
+        assertTrue(testEntityManager.getEntityManager().contains(items.get(0)));
+        testEntityManager.clear();
+        assertTrue(items.stream().allMatch(item -> item.getId() != null));
+        assertEquals(1200, items.stream().map(Item::getId).distinct().count());
+        assertEquals(1200, itemRepository.findAllByOwnerId(owner.getId(), PageRequest.of(0, 2000)).size());
+        assertEquals(600, itemRepository.findAllByRequestId(request.getId()).size());
+        Item item = itemRepository.findById(items.get(1).getId()).orElseThrow();
+        assertEquals("Дрель 1", item.getName());
+        assertNull(item.getRequest());
+    }
+
+    @Test
+    void findCommentsWithAuthor() {
+        Item item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, null));
+        commentRepository.save(new Comment(null, "Отличная дрель", item, owner, LocalDateTime.now()));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        List<Comment> comments = commentRepository.findAllByItemId(item.getId());
+        List<Comment> batchComments = commentRepository.findAllByItemIdIn(List.of(item.getId()));
+
+        assertEquals(1, comments.size());
+        assertTrue(Hibernate.isInitialized(comments.get(0).getAuthor()));
+        assertFalse(Hibernate.isInitialized(comments.get(0).getItem()));
+        assertEquals(item.getId(), comments.get(0).getItem().getId());
+        assertTrue(Hibernate.isInitialized(batchComments.get(0).getAuthor()));
+    }
+}
@@ -4,12 +4,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingShortWithItemId;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithInfo;
 import ru.practicum.shareit.request.ItemRequest;
@@ -23,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,7 +39,7 @@ class ItemServiceImplTest {
     private BookingRepository bookingRepository;
     private CommentRepository commentRepository;
     private UserService userService;
-
+    private ItemSearchIndex itemSearchIndex;
 
     @BeforeEach
     void initialize() {
@@ -43,8 +48,9 @@ class ItemServiceImplTest {
         bookingRepository = mock(BookingRepository.class);
         commentRepository = mock(CommentRepository.class);
         userService = mock(UserService.class);
+        itemSearchIndex = mock(ItemSearchIndex.class);
         itemService = new ItemServiceImpl(itemRepository, itemRequestRepository, bookingRepository, commentRepository,
-                userService);
+                userService, itemSearchIndex);
     }
 
     @Test
@@ -57,9 +63,10 @@ class ItemServiceImplTest {
         Pageable pageable = PageRequest.of(0, 20);
         when(userService.getUserById(userId))
                 .thenReturn(UserMapper.toUserDto(item.getOwner()));
-        when(bookingRepository.findAllByItemIdAndEndBeforeOrderByEndDesc(eq(item.getId()), any(LocalDateTime.class)))
-                .thenReturn(Collections.singletonList(booking));
-        when(commentRepository.findAllByItemId(item.getId()))
+        when(bookingRepository.findLastBookings(eq(List.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(new BookingShortWithItemId(item.getId(), booking.getId(),
+                        booking.getBooker().getId())));
+        when(commentRepository.findAllByItemIdIn(List.of(item.getId())))
                 .thenReturn(Collections.singletonList(comment));
         when(itemRepository.findAllByOwnerId(userId, pageable))
                 .thenReturn(Collections.singletonList(item));
@@ -77,6 +84,29 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findAllByOwnerId(userId, pageable);
     }
 
+    @Test
+    void getItemsByUserIdWithConstantQueryCount() {
+        Item item = getItem();
+        Long userId = item.getOwner().getId();
+        when(userService.getUserById(userId))
+                .thenReturn(UserMapper.toUserDto(item.getOwner()));
+        when(itemRepository.findAllByOwnerId(userId, PageRequest.of(0, 1)))
+                .thenReturn(getItems(item, 1));
+        when(itemRepository.findAllByOwnerId(userId, PageRequest.of(0, 200)))
+                .thenReturn(getItems(item, 200));
+        itemService.getItemsByUserId(userId, 0, 1);
+        int bookingQueriesForSmallPage = mockingDetails(bookingRepository).getInvocations().size();
+        int commentQueriesForSmallPage = mockingDetails(commentRepository).getInvocations().size();
+        clearInvocations(bookingRepository, commentRepository);
+        List<ItemDtoWithInfo> items = itemService.getItemsByUserId(userId, 0, 200);
+
+        assertEquals(200, items.size());
+        assertEquals(2, bookingQueriesForSmallPage);
+        assertEquals(1, commentQueriesForSmallPage);
+        assertEquals(bookingQueriesForSmallPage, mockingDetails(bookingRepository).getInvocations().size());
+        assertEquals(commentQueriesForSmallPage, mockingDetails(commentRepository).getInvocations().size());
+    }
+
     @Test
     void getItemById() {
         Item item = getItem();
@@ -122,6 +152,52 @@ class ItemServiceImplTest {
         assertEquals(item.getAvailable(), itemDto.getAvailable());
         assertEquals(itemRequestId, itemDto.getRequestId());
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemSearchIndex, times(1)).index(item);
+    }
+
+    @Test
+    void createItems() {
+        Item item = getItem();
+        Long userId = item.getOwner().getId();
+        Long itemRequestId = item.getRequest().getId();
+        when(userService.getUserById(userId))
+                .thenReturn(UserMapper.toUserDto(item.getOwner()));
+        when(itemRequestRepository.findExistingIds(Set.of(itemRequestId, 99L)))
+                .thenReturn(List.of(itemRequestId));
+        when(itemRequestRepository.getReferenceById(itemRequestId))
+                .thenReturn(item.getRequest());
+        doAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setId(10L + i);
+            }
+            return null;
+        }).when(itemRepository).insertAll(anyList());
+        List<ItemDto> itemDtos = List.of(
+                ItemMapper.toItemDto(item),
+                new ItemDto(null, " ", "test description", true, null),
+                new ItemDto(null, "test item", "test description", true, 99L),
+                new ItemDto(null, "other item", "other description", false, null),
+                new ItemDto(null, "a".repeat(256), "test description", true, null),
+                new ItemDto(null, "test item", "a".repeat(1025), true, null));
+        List<ItemBulkResult> results = itemService.createItems(itemDtos, userId);
+
+        assertEquals(6, results.size());
+        assertEquals(10L, results.get(0).getItem().getId());
+        assertEquals(itemRequestId, results.get(0).getItem().getRequestId());
+        assertEquals("Не указано название вещи.", results.get(1).getError());
+        assertNull(results.get(1).getItem());
+        assertEquals("Запрос с ID = 99 не найден.", results.get(2).getError());
+        assertEquals(11L, results.get(3).getItem().getId());
+        assertNull(results.get(3).getError());
+        assertEquals("Название вещи длиннее 255 символов.", results.get(4).getError());
+        assertEquals("Описание вещи длиннее 1024 символов.", results.get(5).getError());
+        verify(userService, times(1)).getUserById(userId);
+        verify(itemRequestRepository, times(1)).findExistingIds(anyCollection());
+        verify(itemRequestRepository, never()).findById(anyLong());
+        verify(itemRepository, times(1)).insertAll(anyList());
+        verify(itemRepository, never()).save(any(Item.class));
+        verify(itemSearchIndex, times(2)).index(any(Item.class));
     }
 
     @Test
@@ -147,16 +223,35 @@ class ItemServiceImplTest {
         assertEquals(item2.getAvailable(), itemDto.getAvailable());
         assertEquals(item2.getRequest().getId(), itemDto.getRequestId());
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemSearchIndex, times(1)).remove(argThat(item -> item.getName().equals("test item")));
+        verify(itemSearchIndex, times(1)).index(item2);
+    }
+
+    @Test
+    void createItemsIndexesAfterCommit() {
+        User owner = getItem().getOwner();
+        when(userService.getUserById(owner.getId()))
+                .thenReturn(UserMapper.toUserDto(owner));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemService.createItems(List.of(new ItemDto(null, "test item", "test description", true, null)),
+                    owner.getId());
+
+            verify(itemSearchIndex, never()).index(any(Item.class));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(itemSearchIndex, times(1)).index(any(Item.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
     void searchItemsByText() {
         Item item = getItem();
         String text = item.getDescription().substring(5, 10);
-        Pageable pageable = PageRequest.of(0, 20);
         List<Item> items = new ArrayList<>();
         items.add(item);
-        when(itemRepository.findAllByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(text, text, pageable))
+        when(itemSearchIndex.search(text, 0, 20))
                 .thenReturn(items);
         List<ItemDto> foundItems = itemService.searchItemsByText(text, 0, 20);
 
@@ -166,8 +261,20 @@ class ItemServiceImplTest {
         assertEquals("test item", foundItems.get(0).getName());
         assertEquals("test description", foundItems.get(0).getDescription());
         assertEquals(true, foundItems.get(0).getAvailable());
-        verify(itemRepository, times(1))
-                .findAllByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(text, text, pageable);
+        verify(itemSearchIndex, times(1)).search(text, 0, 20);
+    }
+
+    @Test
+    void searchItemsByTextAfter() {
+        Item item = getItem();
+        String text = item.getDescription().substring(5, 10);
+        when(itemSearchIndex.searchAfter(text, 0, 20))
+                .thenReturn(Collections.singletonList(item));
+        List<ItemDto> foundItems = itemService.searchItemsByTextAfter(text, 0, 20);
+
+        assertEquals(List.of(ItemMapper.toItemDto(item)), foundItems);
+        assertTrue(itemService.searchItemsByTextAfter(" ", 0, 20).isEmpty());
+        verify(itemSearchIndex, times(1)).searchAfter(text, 0, 20);
     }
 
     @Test
@@ -203,6 +310,15 @@ class ItemServiceImplTest {
         return new Item(1L, "test item", "test description", true, user2, itemRequest);
     }
 
+    private List<Item> getItems(Item item, int count) {
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            items.add(new Item(id, item.getName(), item.getDescription(), item.getAvailable(), item.getOwner(),
+                    item.getRequest()));
+        }
+        return items;
+    }
+
     private User getRequester(Item item) {
         return item.getRequest().getRequester();
     }
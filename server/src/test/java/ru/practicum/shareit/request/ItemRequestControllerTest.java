@@ -9,6 +9,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWithInfo;
 import ru.practicum.shareit.user.User;
@@ -22,6 +23,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemRequestController.class)
@@ -41,7 +43,7 @@ class ItemRequestControllerTest {
         List<ItemRequestDtoWithInfo> itemRequests = new ArrayList<>();
         itemRequests.add(itemRequestDtoWithInfo);
         itemRequests.add(itemRequestDtoWithInfo);
-        when(itemRequestService.getItemRequestsByUserId(userId))
+        when(itemRequestService.getItemRequestsByUserId(userId, 0, null))
                 .thenReturn(itemRequests);
 
         mockMvc.perform(get("/requests")
@@ -49,7 +51,23 @@ class ItemRequestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json("[{\"id\": 1,\"description\": \"test request\"}," +
                         " {\"id\": 1,\"description\": \"test request\"}]"));
-        verify(itemRequestService, times(1)).getItemRequestsByUserId(userId);
+        verify(itemRequestService, times(1)).getItemRequestsByUserId(userId, 0, null);
+    }
+
+    @Test
+    void getItemRequestsByUserIdWithPaging() throws Exception {
+        ItemRequest itemRequest = getItemRequest();
+        Long userId = itemRequest.getRequester().getId();
+        when(itemRequestService.getItemRequestsByUserId(userId, 10, 5))
+                .thenReturn(List.of(ItemRequestMapper.toItemRequestDtoWithInfo(itemRequest)));
+
+        mockMvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("from", "10")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\": 1,\"description\": \"test request\"}]"));
+        verify(itemRequestService, times(1)).getItemRequestsByUserId(userId, 10, 5);
     }
 
     @Test
@@ -73,6 +91,26 @@ class ItemRequestControllerTest {
         verify(itemRequestService, times(1)).getOtherItemRequests(userId, 0, 20);
     }
 
+    @Test
+    void getOtherItemRequestsAfter() throws Exception {
+        ItemRequest itemRequest = getItemRequest();
+        Long userId = itemRequest.getRequester().getId();
+        ItemRequestDtoWithInfo itemRequestDtoWithInfo = ItemRequestMapper.toItemRequestDtoWithInfo(itemRequest);
+        String after = new Cursor(itemRequest.getCreated().plusDays(1), 2L).encode();
+        when(itemRequestService.getOtherItemRequestsAfter(userId, after, 1))
+                .thenReturn(List.of(itemRequestDtoWithInfo));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("after", after)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", new Cursor(itemRequestDtoWithInfo.getCreated(), itemRequestDtoWithInfo.getId()).encode()))
+                .andExpect(content().json("[{\"id\": 1,\"description\": \"test request\"}]"));
+        verify(itemRequestService, times(1)).getOtherItemRequestsAfter(userId, after, 1);
+        verify(itemRequestService, never()).getOtherItemRequests(anyLong(), anyInt(), anyInt());
+    }
+
     @Test
     void getItemRequestById() throws Exception {
         ItemRequest itemRequest = getItemRequest();
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.config.HibernateCacheConfig;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+class ItemRequestRepositoryTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    private User prolificRequester;
+    private List<ItemRequest> otherRequests;
+
+    @BeforeEach
+    void setUp() {
+        prolificRequester = userRepository.save(new User(null, "prolific user", "prolific@mail.com"));
+        User requester = userRepository.save(new User(null, "test user", "testuser@mail.com"));
+        User otherRequester = userRepository.save(new User(null, "other user", "other@mail.com"));
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        otherRequests = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            itemRequestRepository.save(new ItemRequest(null, "own request " + i, prolificRequester,
+                    created.plusMinutes(i)));
+        }
+        for (int i = 0; i < 3; i++) {
+            otherRequests.add(itemRequestRepository.save(new ItemRequest(null, "test request " + i,
+                    requester, created.minusMinutes(i))));
+        }
+        otherRequests.add(itemRequestRepository.save(new ItemRequest(null, "other request", otherRequester,
+                created.minusMinutes(2))));
+    }
+
+    @Test
+    void findOtherRequests() {
+        long userId = prolificRequester.getId();
+        List<ItemRequest> firstPage = itemRequestRepository.findOtherRequests(userId, PageRequest.of(0, 3));
+        List<ItemRequest> secondPage = itemRequestRepository.findOtherRequests(userId, PageRequest.of(1, 3));
+
+        assertEquals(List.of(otherRequests.get(0), otherRequests.get(1), otherRequests.get(3)), firstPage);
+        assertEquals(List.of(otherRequests.get(2)), secondPage);
+    }
+
+    @Test
+    void findOtherRequestsAfter() {
+        long userId = prolificRequester.getId();
+        ItemRequest last = otherRequests.get(1);
+        List<ItemRequest> firstPage = itemRequestRepository.findOtherRequestsAfter(userId,
+                LocalDateTime.now().plusDays(1), Long.MAX_VALUE, PageRequest.of(0, 2));
+        List<ItemRequest> secondPage = itemRequestRepository.findOtherRequestsAfter(userId, last.getCreated(),
+                last.getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(otherRequests.get(0), last), firstPage);
+        assertEquals(List.of(otherRequests.get(3), otherRequests.get(2)), secondPage);
+    }
+}
@@ -2,14 +2,14 @@ package ru.practicum.shareit.request;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.WrongParameterException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWithInfo;
 import ru.practicum.shareit.user.User;
@@ -17,6 +17,7 @@ import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -44,31 +45,80 @@ class ItemRequestServiceImplTest {
         Long userId = itemRequest.getRequester().getId();
         when(userService.getUserById(userId))
                 .thenReturn(UserMapper.toUserDto(itemRequest.getRequester()));
-        when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId))
+        when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId, Pageable.unpaged()))
                 .thenReturn(Collections.singletonList(itemRequest));
-        List<ItemRequestDtoWithInfo> itemRequests = itemRequestService.getItemRequestsByUserId(userId);
+        when(itemRepository.findAllByRequestIdIn(List.of(itemRequest.getId())))
+                .thenReturn(Collections.singletonList(getItem(itemRequest)));
+        List<ItemRequestDtoWithInfo> itemRequests = itemRequestService.getItemRequestsByUserId(userId, 0, null);
 
         assertNotNull(itemRequests);
         assertEquals(1, itemRequests.size());
         assertEquals(1, itemRequests.get(0).getId());
         assertEquals("test request", itemRequests.get(0).getDescription());
-        verify(itemRequestRepository, times(1)).findAllByRequesterIdOrderByCreatedDesc(userId);
+        assertEquals(List.of(ItemMapper.toItemDto(getItem(itemRequest))), itemRequests.get(0).getItems());
+        verify(itemRequestRepository, times(1)).findAllByRequesterIdOrderByCreatedDesc(userId, Pageable.unpaged());
+    }
+
+    @Test
+    void getItemRequestsByUserIdWithConstantQueryCount() {
+        User requester = getItemRequest().getRequester();
+        Long userId = requester.getId();
+        List<ItemRequest> itemRequests = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (long i = 1; i <= 500; i++) {
+            ItemRequest itemRequest = new ItemRequest(i, "test request " + i, requester, LocalDateTime.now());
+            itemRequests.add(itemRequest);
+            items.add(new Item(i, "test item " + i, "test description", true, requester, itemRequest));
+        }
+        when(userService.getUserById(userId))
+                .thenReturn(UserMapper.toUserDto(requester));
+        when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(userId, PageRequest.of(0, 500)))
+                .thenReturn(itemRequests);
+        when(itemRepository.findAllByRequestIdIn(anyCollection()))
+                .thenReturn(items);
+        List<ItemRequestDtoWithInfo> result = itemRequestService.getItemRequestsByUserId(userId, 0, 500);
+
+        assertEquals(500, result.size());
+        assertEquals(1, result.get(499).getItems().size());
+        assertEquals(500L, result.get(499).getItems().get(0).getId());
+        assertEquals(1, mockingDetails(itemRequestRepository).getInvocations().size());
+        assertEquals(1, mockingDetails(itemRepository).getInvocations().size());
     }
 
     @Test
     void getOtherItemRequests() {
         ItemRequest itemRequest = getItemRequest();
         Long userId = itemRequest.getRequester().getId();
-        Pageable pageable = PageRequest.of(0, 20, Sort.by("created").descending());
+        Pageable pageable = PageRequest.of(0, 20);
         when(userService.getUserById(userId))
                 .thenReturn(UserMapper.toUserDto(itemRequest.getRequester()));
-        when(itemRequestRepository.findAll(pageable))
-                .thenReturn(Page.empty());
+        when(itemRequestRepository.findOtherRequests(userId, pageable))
+                .thenReturn(Collections.emptyList());
         List<ItemRequestDtoWithInfo> itemRequests = itemRequestService.getOtherItemRequests(userId, 0, 20);
 
         assertNotNull(itemRequests);
         assertEquals(0, itemRequests.size());
-        verify(itemRequestRepository, times(1)).findAll(pageable);
+        verify(itemRequestRepository, times(1)).findOtherRequests(userId, pageable);
+        verify(itemRequestRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getOtherItemRequestsAfter() {
+        ItemRequest itemRequest = getItemRequest();
+        Long userId = itemRequest.getRequester().getId() + 1;
+        Cursor cursor = new Cursor(itemRequest.getCreated().plusDays(1), 5L);
+        when(userService.getUserById(userId))
+                .thenReturn(UserMapper.toUserDto(itemRequest.getRequester()));
+        when(itemRequestRepository.findOtherRequestsAfter(userId, cursor.getDate(), cursor.getId(),
+                PageRequest.of(0, 20)))
+                .thenReturn(Collections.singletonList(itemRequest));
+        List<ItemRequestDtoWithInfo> itemRequests = itemRequestService
+                .getOtherItemRequestsAfter(userId, cursor.encode(), 20);
+
+        assertEquals(1, itemRequests.size());
+        assertEquals(1, itemRequests.get(0).getId());
+        assertThrows(WrongParameterException.class,
+                () -> itemRequestService.getOtherItemRequestsAfter(userId, "wrong", 20));
     }
 
     @Test
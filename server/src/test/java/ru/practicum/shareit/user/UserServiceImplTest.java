@@ -1,9 +1,11 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -14,11 +16,13 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
     private UserRepository userRepository;
     private UserServiceImpl userService;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void initialize() {
         userRepository = mock(UserRepository.class);
-        userService = new UserServiceImpl(userRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        userService = new UserServiceImpl(userRepository, new UserCache(100, Duration.ofMinutes(5), meterRegistry));
     }
 
     @Test
@@ -57,6 +61,52 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findById(userId);
     }
 
+    @Test
+    void getUserByIdFromCache() {
+        User user = getUser();
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        UserDto firstUserDto = userService.getUserById(user.getId());
+        firstUserDto.setName("changed by caller");
+        UserDto secondUserDto = userService.getUserById(user.getId());
+
+        assertEquals("test user", secondUserDto.getName());
+        verify(userRepository, times(1)).findById(user.getId());
+        assertEquals(1, getCacheGets("users", "hit"));
+        assertEquals(1, getCacheGets("users", "miss"));
+    }
+
+    @Test
+    void checkUserExists() {
+        User user = getUser();
+        Long userId = user.getId();
+        Long wrongId = userId + 1;
+        when(userRepository.existsById(userId))
+                .thenReturn(true);
+        when(userRepository.existsById(wrongId))
+                .thenReturn(false);
+        userService.checkUserExists(userId);
+        userService.checkUserExists(userId);
+
+        Throwable throwable = assertThrows(ObjectNotFoundException.class, () -> userService.checkUserExists(wrongId));
+        assertEquals("Пользователь с ID = 2 не найден.", throwable.getMessage());
+        assertThrows(ObjectNotFoundException.class, () -> userService.checkUserExists(wrongId));
+        verify(userRepository, times(1)).existsById(userId);
+        verify(userRepository, times(2)).existsById(wrongId);
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void checkUserExistsForCachedUser() {
+        User user = getUser();
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        userService.getUserById(user.getId());
+        userService.checkUserExists(user.getId());
+
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
     @Test
     void createUser() {
         User user = getUser();
@@ -91,14 +141,48 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).save(any(User.class));
     }
 
+    @Test
+    void updateUserInvalidatesCache() {
+        User user1 = getUser();
+        Long userId = user1.getId();
+        User user2 = getUser();
+        user2.setName("new user");
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(user1))
+                .thenReturn(Optional.of(user1))
+                .thenReturn(Optional.of(user2));
+        when(userRepository.save(any(User.class)))
+                .thenReturn(user2);
+        userService.getUserById(userId);
+        userService.updateUser(UserMapper.toUserDto(user2), userId);
+
+        assertEquals("new user", userService.getUserById(userId).getName());
+        verify(userRepository, times(3)).findById(userId);
+    }
+
     @Test
     void deleteUser() {
         User user = getUser();
         when(userRepository.findById(user.getId()))
                 .thenReturn(Optional.of(user));
+        when(userRepository.existsById(user.getId()))
+                .thenReturn(true)
+                .thenReturn(false);
+        userService.getUserById(user.getId());
+        userService.checkUserExists(user.getId());
         userService.deleteUser(user.getId());
 
         verify(userRepository, times(1)).deleteById(user.getId());
+        assertThrows(ObjectNotFoundException.class, () -> userService.checkUserExists(user.getId()));
+        assertThrows(ObjectNotFoundException.class, () -> userService.deleteUser(user.getId()));
+    }
+
+    private double getCacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cache)
+                .tag("result", result)
+                .functionCounter()
+                .count();
     }
 
     private User getUser() {